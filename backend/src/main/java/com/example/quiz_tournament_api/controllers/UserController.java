@@ -8,11 +8,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
-import com.example.quiz_tournament_api.repositories.UserQuizScoreRepository;
+import com.example.quiz_tournament_api.services.QuizMembershipIndex;
+import com.example.quiz_tournament_api.services.QuizStatusService;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/users")
@@ -20,12 +22,15 @@ public class UserController {
 
     private final UserService userService;
     private final PasswordEncoder passwordEncoder;
-    private UserQuizScoreRepository userQuizScoreRepository;
+    private final QuizMembershipIndex quizMembershipIndex;
+    private final QuizStatusService quizStatusService;
     @Autowired
-    public UserController(UserService userService, PasswordEncoder passwordEncoder,UserQuizScoreRepository userQuizScoreRepository ) {
+    public UserController(UserService userService, PasswordEncoder passwordEncoder, QuizMembershipIndex quizMembershipIndex,
+                          QuizStatusService quizStatusService) {
         this.userService = userService;
         this.passwordEncoder = passwordEncoder;
-        this.userQuizScoreRepository = userQuizScoreRepository;
+        this.quizMembershipIndex = quizMembershipIndex;
+        this.quizStatusService = quizStatusService;
     }
 
     @GetMapping
@@ -106,10 +111,20 @@ public class UserController {
     public ResponseEntity<Map<String, Boolean>> checkQuizCompletion(
             @PathVariable Long quizId,
             @RequestParam Long userId) {
-        boolean isCompleted = userQuizScoreRepository.findByQuizIdAndUserId(quizId, userId).isPresent();
+        boolean isCompleted = quizMembershipIndex.hasCompleted(quizId, userId); // Answered from memory
         return ResponseEntity.ok(Map.of("completed", isCompleted));
     }
 
+    // Completion, score and reaction for many quizzes in one query; without quizIds, all quizzes in pages of
+    // QuizStatusService.MAX_QUIZZES continuing after afterId
+    @GetMapping("/{userId}/quiz-status")
+    public ResponseEntity<List<Map<String, Object>>> getQuizStatuses(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Set<Long> quizIds,
+            @RequestParam(required = false) Long afterId) {
+        return ResponseEntity.ok(quizStatusService.getStatuses(userId, quizIds, afterId));
+    }
+
 
     @PostMapping("/auth/login")
     public ResponseEntity<Object> login(@RequestBody User loginRequest) {
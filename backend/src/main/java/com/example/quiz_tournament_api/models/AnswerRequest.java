@@ -4,6 +4,7 @@ public class AnswerRequest {
     private Long questionId;      // ID of the question being answered
     private String submittedAnswer; // The user's submitted answer
     private String correctAnswer;   // The correct answer to the question
+    private Integer selectedOption; // Index of the chosen option in the served options (takes precedence over submittedAnswer)
 
     // Default Constructor
     public AnswerRequest() {}
@@ -32,6 +33,14 @@ public class AnswerRequest {
         this.submittedAnswer = submittedAnswer;
     }
 
+    public Integer getSelectedOption() {
+        return selectedOption;
+    }
+
+    public void setSelectedOption(Integer selectedOption) {
+        this.selectedOption = selectedOption;
+    }
+
     public String getCorrectAnswer() {
         return correctAnswer;
     }
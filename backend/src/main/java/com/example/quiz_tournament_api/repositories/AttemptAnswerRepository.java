@@ -0,0 +1,19 @@
+package com.example.quiz_tournament_api.repositories;
+
+import com.example.quiz_tournament_api.models.AttemptAnswer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AttemptAnswerRepository extends JpaRepository<AttemptAnswer, Long> {
+
+    List<AttemptAnswer> findByAttemptId(Long attemptId);
+
+    @Modifying
+    @Query("DELETE FROM AttemptAnswer a WHERE a.attempt.id IN (SELECT t.id FROM QuizAttempt t WHERE t.quiz.id = :quizId)")
+    int deleteByQuizId(Long quizId);
+}
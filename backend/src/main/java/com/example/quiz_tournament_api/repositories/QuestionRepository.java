@@ -0,0 +1,34 @@
+package com.example.quiz_tournament_api.repositories;
+
+import com.example.quiz_tournament_api.models.Question;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface QuestionRepository extends JpaRepository<Question, Long> {
+
+    // Load the stored question set of a quiz together with its incorrect answers in one query
+    @Query("SELECT DISTINCT q FROM Question q LEFT JOIN FETCH q.incorrectAnswers " +
+            "WHERE q.quiz.id = :quizId ORDER BY q.id")
+    List<Question> findByQuizIdWithAnswers(Long quizId);
+
+    // Ids of the most recently stored questions of other quizzes with the same category and difficulty
+    @Query("SELECT q.id FROM Question q WHERE q.quiz.category = :category AND q.quiz.difficulty = :difficulty " +
+            "AND q.quiz.id <> :excludedQuizId ORDER BY q.id DESC")
+    List<Long> findRecentIdsForSelection(int category, String difficulty, Long excludedQuizId, Pageable pageable);
+
+    // Load questions by id together with their incorrect answers
+    @Query("SELECT DISTINCT q FROM Question q LEFT JOIN FETCH q.incorrectAnswers WHERE q.id IN :ids")
+    List<Question> findAllWithAnswersByIdIn(List<Long> ids);
+
+    // Content hashes of the questions stored for a quiz (served by the unique (quiz_id, content_hash) index)
+    @Query("SELECT q.contentHash FROM Question q WHERE q.quiz.id = :quizId")
+    List<String> findContentHashesByQuizId(Long quizId);
+
+    // Remove every stored question of a quiz (used before re-fetching or deleting the quiz)
+    void deleteByQuizId(Long quizId);
+}
@@ -1,5 +1,6 @@
 package com.example.quiz_tournament_api.repositories;
 
+import com.example.quiz_tournament_api.models.PrefetchStatus;
 import com.example.quiz_tournament_api.models.Quiz;
 import com.example.quiz_tournament_api.models.QuizSummary;
 import com.example.quiz_tournament_api.models.UserLikes;
@@ -36,6 +37,10 @@ public interface QuizRepository extends JpaRepository<Quiz, Long> {
             "FROM Quiz q JOIN q.participants p WHERE p.id = :userId")
     List<QuizSummary> findQuizzesByUserId(Long userId);
 
+    // Method to read only the end date of a quiz
+    @Query("SELECT q.endDate FROM Quiz q WHERE q.id = :quizId")
+    Optional<LocalDateTime> findEndDateById(Long quizId);
+
     // Method to find a quiz by ID if it's active
     Optional<Quiz> findByIdAndStartDateBeforeAndEndDateAfter(Long id, LocalDateTime start, LocalDateTime end);
 
@@ -83,5 +88,16 @@ public interface QuizRepository extends JpaRepository<Quiz, Long> {
     @Query("SELECT COUNT(ul) > 0 FROM UserLikes ul WHERE ul.quiz.id = :quizId AND ul.user.id = :userId AND ul.liked = false")
     boolean hasUserDislikedQuiz(Long quizId, Long userId);
 
+    // Method to find quizzes starting before the horizon (and not yet over) whose question set is not stored,
+    // or is a stale fallback set that can still be replaced because the quiz has not started
+    @Query("SELECT q.id FROM Quiz q WHERE q.startDate <= :horizon AND q.endDate > :now " +
+            "AND (q.prefetchStatus IS NULL OR q.prefetchStatus <> :ready) " +
+            "AND (q.prefetchStatus IS NULL OR q.prefetchStatus <> :stale OR q.startDate > :now) ORDER BY q.startDate")
+    List<Long> findQuizIdsToPrefetch(LocalDateTime now, LocalDateTime horizon, PrefetchStatus ready, PrefetchStatus stale);
 
+    // Method to update the prefetch status without touching the rest of the quiz
+    @Modifying
+    @Transactional
+    @Query("UPDATE Quiz q SET q.prefetchStatus = :status, q.prefetchedAt = :prefetchedAt WHERE q.id = :quizId")
+    int updatePrefetchStatus(Long quizId, PrefetchStatus status, LocalDateTime prefetchedAt);
 }
@@ -0,0 +1,9 @@
+package com.example.quiz_tournament_api.repositories;
+
+import com.example.quiz_tournament_api.models.QuizScoreHistogram;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface QuizScoreHistogramRepository extends JpaRepository<QuizScoreHistogram, Long> {
+}
@@ -15,7 +15,7 @@ public interface UserLikesRepository extends JpaRepository<UserLikes, Long> {
     @Modifying
     @Transactional
     @Query("INSERT INTO UserLikes(quiz, user, liked) SELECT q, u, :liked FROM Quiz q, User u WHERE q.id = :quizId AND u.id = :userId")
-    void addUserReaction(Long quizId, Long userId, boolean liked);
+    int addUserReaction(Long quizId, Long userId, boolean liked);
 
     // Check if a user has reacted (liked or disliked) to a quiz
     @Query("SELECT COUNT(ul) > 0 FROM UserLikes ul WHERE ul.quiz.id = :quizId AND ul.user.id = :userId AND ul.liked = :liked")
@@ -0,0 +1,188 @@
+package com.example.quiz_tournament_api.services;
+
+import com.example.quiz_tournament_api.models.AnswerRequest;
+import com.example.quiz_tournament_api.models.AttemptAnswer;
+import com.example.quiz_tournament_api.models.QuizAttempt;
+import com.example.quiz_tournament_api.models.SubmissionResult;
+import com.example.quiz_tournament_api.repositories.AttemptAnswerRepository;
+import com.example.quiz_tournament_api.repositories.QuizAttemptRepository;
+import com.example.quiz_tournament_api.repositories.QuizRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persists quiz attempts answer by answer.
+ *
+ * Every graded answer is stored as an {@link AttemptAnswer} row (inserted in JDBC batches), and the attempt keeps
+ * running correct/answered totals that are bumped in the same transaction. Reading a score, partial or final, is a
+ * single lookup on the (quiz_id, user_id) index and never re-aggregates the answers. While an attempt is in
+ * progress, its answered/correct state is also kept in the {@link AttemptSessionStore}, so answering does not
+ * re-read the stored answers.
+ */
+@Service
+public class AttemptService {
+
+    private final QuizAttemptRepository quizAttemptRepository;
+    private final AttemptAnswerRepository attemptAnswerRepository;
+    private final QuizRepository quizRepository;
+    private final AttemptSessionStore attemptSessionStore;
+    private final QuestionService questionService;
+
+    @Autowired
+    public AttemptService(QuizAttemptRepository quizAttemptRepository,
+                          AttemptAnswerRepository attemptAnswerRepository,
+                          QuizRepository quizRepository,
+                          AttemptSessionStore attemptSessionStore,
+                          QuestionService questionService) {
+        this.quizAttemptRepository = quizAttemptRepository;
+        this.attemptAnswerRepository = attemptAnswerRepository;
+        this.quizRepository = quizRepository;
+        this.attemptSessionStore = attemptSessionStore;
+        this.questionService = questionService;
+    }
+
+    /**
+     * Grades and stores answers of a user's attempt, starting the attempt on its first answer. Questions that were
+     * already answered keep their first answer.
+     *
+     * @param complete whether this submission ends the attempt; an attempt can only be completed once.
+     * @return the totals of the attempt after this submission and the correctness of every answered question.
+     */
+    @Transactional
+    public SubmissionResult recordAnswers(Long quizId, Long userId, AnswerKeyIndex.QuizAnswerKey answerKey,
+                                          List<AnswerRequest> answers, boolean complete) {
+        // Locked: a concurrent submission of the same attempt waits here and then sees this one's answers
+        QuizAttempt attempt = quizAttemptRepository.lockByQuizIdAndUserId(quizId, userId)
+                .orElseGet(() -> startAttempt(quizId, userId, answerKey.size()));
+        if (attempt.isCompleted()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "User already completed this quiz!");
+        }
+
+        // Answers of earlier submissions: from the live session if this node has one, otherwise from the database
+        boolean[] graded = new boolean[answerKey.size()];
+        Map<Long, Boolean> results = new LinkedHashMap<>();
+        AttemptSessionStore.Session session = attemptSessionStore.get(userId, quizId);
+        // A session is only trusted while it agrees with the locked row: it lags the database by the moment between
+        // a concurrent submission's commit and its after-commit update
+        if (session != null && session.totalQuestions() == answerKey.size()
+                && session.answeredCount() == attempt.getAnsweredQuestions()) {
+            for (int position = 0; position < answerKey.size(); position++) {
+                if (session.isAnswered(position)) {
+                    graded[position] = true;
+                    results.put(answerKey.questionId(position), session.isCorrect(position));
+                }
+            }
+        } else if (attempt.getAnsweredQuestions() > 0) {
+            for (AttemptAnswer stored : attemptAnswerRepository.findByAttemptId(attempt.getId())) {
+                int position = answerKey.positionOf(stored.getQuestionId());
+                if (position >= 0) {
+                    graded[position] = true;
+                }
+                results.put(stored.getQuestionId(), stored.isCorrect());
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<AttemptAnswer> newAnswers = new ArrayList<>();
+        int newCorrect = 0;
+        for (AnswerRequest answer : answers) {
+            int position = answerKey.positionOf(answer.getQuestionId());
+            if (position < 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Question " + answer.getQuestionId() + " is not part of this quiz.");
+            }
+            if (graded[position]) {
+                continue;
+            }
+            graded[position] = true;
+            int chosen = questionService.chosenOption(quizId, answer);
+            boolean correct = answerKey.isCorrect(position, chosen);
+            newAnswers.add(new AttemptAnswer(attempt, answer.getQuestionId(), chosen >= 0 ? chosen : null, correct, now));
+            results.put(answer.getQuestionId(), correct);
+            if (correct) {
+                newCorrect++;
+            }
+        }
+
+        if (!newAnswers.isEmpty()) {
+            attemptAnswerRepository.saveAll(newAnswers); // One JDBC batch (hibernate.jdbc.batch_size)
+            quizAttemptRepository.addToTotals(attempt.getId(), newAnswers.size(), newCorrect);
+        }
+        if (complete && quizAttemptRepository.complete(attempt.getId(), now) == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "User already completed this quiz!");
+        }
+
+        // Sessions mirror committed answers only, so a rolled-back submission never reaches them
+        if (complete) {
+            AfterCommit.run(() -> attemptSessionStore.finish(userId, quizId));
+        } else {
+            long quizEndMillis = session != null ? session.quizEndMillis() : quizEndMillis(quizId);
+            long answeredBits = 0;
+            long correctBits = 0;
+            for (int position = 0; position < Math.min(graded.length, AttemptSessionStore.MAX_QUESTIONS); position++) {
+                if (graded[position]) {
+                    answeredBits |= 1L << position;
+                    if (Boolean.TRUE.equals(results.get(answerKey.questionId(position)))) {
+                        correctBits |= 1L << position;
+                    }
+                }
+            }
+            long answered = answeredBits;
+            long correct = correctBits;
+            AfterCommit.run(() -> attemptSessionStore.update(userId, quizId, answerKey.size(), quizEndMillis, answered, correct));
+        }
+
+        int correctAnswers = attempt.getCorrectAnswers() + newCorrect;
+        int totalQuestions = attempt.getTotalQuestions();
+        double percentage = totalQuestions == 0 ? 0 : ((double) correctAnswers / totalQuestions) * 100;
+        return new SubmissionResult(correctAnswers, totalQuestions, percentage, results);
+    }
+
+    /**
+     * @return the attempt with its running totals; one lookup on the (quiz_id, user_id) index.
+     */
+    public QuizAttempt getAttempt(Long quizId, Long userId) {
+        return quizAttemptRepository.findByQuizIdAndUserId(quizId, userId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No attempt found for this quiz."));
+    }
+
+    @Transactional
+    public void deleteAttemptsForQuiz(Long quizId) {
+        attemptAnswerRepository.deleteByQuizId(quizId);
+        quizAttemptRepository.deleteByQuizId(quizId);
+    }
+
+    /**
+     * @return the live session of an in-progress attempt on this node, or null.
+     */
+    public AttemptSessionStore.Session getSession(Long quizId, Long userId) {
+        return attemptSessionStore.get(userId, quizId);
+    }
+
+    public Map<String, Object> getSessionMetrics() {
+        return attemptSessionStore.getMetrics();
+    }
+
+    private long quizEndMillis(Long quizId) {
+        return quizRepository.findEndDateById(quizId)
+                .map(end -> end.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                .orElse(Long.MAX_VALUE);
+    }
+
+    // The answer key exists only for an existing quiz, so only the user can be missing
+    private QuizAttempt startAttempt(Long quizId, Long userId, int totalQuestions) {
+        quizAttemptRepository.insertIfAbsent(quizId, userId, totalQuestions, LocalDateTime.now());
+        return quizAttemptRepository.lockByQuizIdAndUserId(quizId, userId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+    }
+}
@@ -0,0 +1,303 @@
+package com.example.quiz_tournament_api.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Server-side state of in-progress attempts, one session per (userId, quizId).
+ *
+ * A session is a handful of primitives: answered and correct bitsets (one bit per question position of the answer
+ * key), the index of the first unanswered question and a deadline. Sessions live in preallocated parallel arrays
+ * split into independently locked segments, each with an open-addressing index, so the footprint is fixed at
+ * startup (about 60 bytes per session) and no objects are allocated per session.
+ *
+ * Sessions are a cache over the stored attempt: they are dropped when the attempt completes, when they pass their
+ * deadline (the quiz end, or {@code idle-timeout-ms} without an answer) and are simply not created while the store
+ * is full. A missing session is rebuilt from the database on the next answer.
+ */
+@Service
+public class AttemptSessionStore {
+
+    static final int MAX_QUESTIONS = Long.SIZE; // One long per bitset; the provider serves at most 50 questions
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final long idleTimeoutMillis;
+
+    // Metrics
+    private final LongAdder opened = new LongAdder();
+    private final LongAdder finished = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    @Autowired
+    public AttemptSessionStore(@Value("${quiz.attempt-sessions.max-sessions:131072}") int maxSessions,
+                               @Value("${quiz.attempt-sessions.idle-timeout-ms:1800000}") long idleTimeoutMillis) {
+        int perSegment = Math.max(1, (maxSessions + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /**
+     * @return the live session of the attempt, or null if there is none (or it has expired).
+     */
+    public Session get(long userId, long quizId) {
+        int hash = hash(userId, quizId);
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            int slot = segment.find(hash, userId, quizId);
+            if (slot < 0) {
+                return null;
+            }
+            if (segment.deadlines[slot] < System.currentTimeMillis()) {
+                segment.remove(hash, slot);
+                expired.increment();
+                return null;
+            }
+            return segment.snapshot(slot);
+        }
+    }
+
+    /**
+     * Merges answered/correct bits into the session of an attempt, creating the session if needed, and pushes
+     * its idle deadline out. Bits are only ever added, so updates committed out of order never lose an answer.
+     *
+     * @param quizEndMillis when the quiz ends; the session never outlives it.
+     * @return the updated session, or null if the attempt cannot be tracked (too many questions, or the store is
+     *         full).
+     */
+    public Session update(long userId, long quizId, int totalQuestions, long quizEndMillis,
+                          long answeredBits, long correctBits) {
+        if (totalQuestions > MAX_QUESTIONS) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        long deadline = Math.min(quizEndMillis, now + idleTimeoutMillis);
+        int hash = hash(userId, quizId);
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            int slot = segment.find(hash, userId, quizId);
+            if (slot < 0) {
+                if (segment.isFull()) {
+                    expired.add(segment.evictExpired(now));
+                }
+                if (segment.isFull()) {
+                    rejected.increment();
+                    return null;
+                }
+                slot = segment.insert(hash, userId, quizId, totalQuestions, quizEndMillis);
+                opened.increment();
+            }
+            segment.answered[slot] |= answeredBits;
+            segment.correct[slot] |= correctBits & answeredBits;
+            segment.currentIndexes[slot] = (byte) Math.min(
+                    Long.numberOfTrailingZeros(~segment.answered[slot]), segment.totals[slot]);
+            segment.deadlines[slot] = deadline;
+            return segment.snapshot(slot);
+        }
+    }
+
+    /**
+     * Drops the session of a completed attempt.
+     */
+    public void finish(long userId, long quizId) {
+        int hash = hash(userId, quizId);
+        Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            int slot = segment.find(hash, userId, quizId);
+            if (slot >= 0) {
+                segment.remove(hash, slot);
+                finished.increment();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${quiz.attempt-sessions.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                expired.add(segment.evictExpired(now));
+            }
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        int live = 0;
+        int capacity = 0;
+        long bytes = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                live += segment.size;
+                capacity += segment.capacity;
+                bytes += segment.allocatedBytes();
+            }
+        }
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("liveSessions", live);
+        metrics.put("capacity", capacity);
+        metrics.put("allocatedBytes", bytes);
+        metrics.put("bytesPerSession", capacity == 0 ? 0 : bytes / capacity);
+        metrics.put("opened", opened.sum());
+        metrics.put("finished", finished.sum());
+        metrics.put("expired", expired.sum());
+        metrics.put("rejectedWhileFull", rejected.sum());
+        return metrics;
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[(hash >>> 28) & (SEGMENTS - 1)]; // High bits pick the segment, low bits the table index
+    }
+
+    private static int hash(long userId, long quizId) {
+        long h = userId * 0x9E3779B97F4A7C15L ^ quizId * 0xC2B2AE3D27D4EB4FL;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * A copy of one session's state.
+     *
+     * @param currentIndex the position of the first unanswered question, or {@code totalQuestions} when all are
+     *                     answered.
+     */
+    public record Session(long answeredBits, long correctBits, int currentIndex, int totalQuestions,
+                          long deadlineMillis, long quizEndMillis) {
+
+        public boolean isAnswered(int position) {
+            return (answeredBits >>> position & 1L) != 0;
+        }
+
+        public boolean isCorrect(int position) {
+            return (correctBits >>> position & 1L) != 0;
+        }
+
+        public int answeredCount() {
+            return Long.bitCount(answeredBits);
+        }
+
+        public int correctCount() {
+            return Long.bitCount(correctBits);
+        }
+    }
+
+    // Parallel arrays indexed by slot, plus a linear-probing table of (slot + 1) with 0 marking an empty bucket
+    private static final class Segment {
+        private final int capacity;
+        private final long[] userIds;
+        private final long[] quizIds;
+        private final long[] answered;
+        private final long[] correct;
+        private final long[] deadlines;
+        private final long[] quizEnds;
+        private final byte[] currentIndexes;
+        private final byte[] totals;
+        private final int[] table;
+        private final int mask;
+        private final int[] freeSlots;
+        private int freeCount;
+        private int size;
+
+        private Segment(int capacity) {
+            this.capacity = capacity;
+            this.userIds = new long[capacity];
+            this.quizIds = new long[capacity];
+            this.answered = new long[capacity];
+            this.correct = new long[capacity];
+            this.deadlines = new long[capacity];
+            this.quizEnds = new long[capacity];
+            this.currentIndexes = new byte[capacity];
+            this.totals = new byte[capacity];
+            this.table = new int[Integer.highestOneBit(capacity * 2 - 1) << 1]; // Load factor <= 0.5
+            this.mask = table.length - 1;
+            this.freeSlots = new int[capacity];
+            for (int slot = 0; slot < capacity; slot++) {
+                freeSlots[slot] = capacity - 1 - slot;
+            }
+            this.freeCount = capacity;
+        }
+
+        private boolean isFull() {
+            return freeCount == 0;
+        }
+
+        private int find(int hash, long userId, long quizId) {
+            for (int bucket = hash & mask; table[bucket] != 0; bucket = (bucket + 1) & mask) {
+                int slot = table[bucket] - 1;
+                if (userIds[slot] == userId && quizIds[slot] == quizId) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        private int insert(int hash, long userId, long quizId, int totalQuestions, long quizEndMillis) {
+            int slot = freeSlots[--freeCount];
+            userIds[slot] = userId;
+            quizIds[slot] = quizId;
+            answered[slot] = 0;
+            correct[slot] = 0;
+            currentIndexes[slot] = 0;
+            totals[slot] = (byte) totalQuestions;
+            quizEnds[slot] = quizEndMillis;
+            int bucket = hash & mask;
+            while (table[bucket] != 0) {
+                bucket = (bucket + 1) & mask;
+            }
+            table[bucket] = slot + 1;
+            size++;
+            return slot;
+        }
+
+        // Backward-shift deletion keeps every probe chain intact without tombstones
+        private void remove(int hash, int slot) {
+            int gap = hash & mask;
+            while (table[gap] != slot + 1) {
+                gap = (gap + 1) & mask;
+            }
+            table[gap] = 0;
+            for (int bucket = (gap + 1) & mask; table[bucket] != 0; bucket = (bucket + 1) & mask) {
+                int moved = table[bucket] - 1;
+                int home = hash(userIds[moved], quizIds[moved]) & mask;
+                // The entry may fill the gap unless its home bucket lies cyclically within (gap, bucket]
+                boolean homeBetween = gap <= bucket ? home > gap && home <= bucket : home > gap || home <= bucket;
+                if (!homeBetween) {
+                    table[gap] = table[bucket];
+                    table[bucket] = 0;
+                    gap = bucket;
+                }
+            }
+            freeSlots[freeCount++] = slot;
+            size--;
+        }
+
+        private int evictExpired(long now) {
+            int evicted = 0;
+            for (int bucket = 0; bucket < table.length; bucket++) {
+                // A removal can shift a later entry into this bucket, so re-check it before moving on
+                while (table[bucket] != 0 && deadlines[table[bucket] - 1] < now) {
+                    int slot = table[bucket] - 1;
+                    remove(hash(userIds[slot], quizIds[slot]), slot);
+                    evicted++;
+                }
+            }
+            return evicted;
+        }
+
+        private Session snapshot(int slot) {
+            return new Session(answered[slot], correct[slot], currentIndexes[slot], totals[slot],
+                    deadlines[slot], quizEnds[slot]);
+        }
+
+        private long allocatedBytes() {
+            return (long) capacity * (6 * Long.BYTES + 2 + Integer.BYTES) + (long) table.length * Integer.BYTES;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.quiz_tournament_api.services;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last quiz of a catalog page: the sort it was taken under, that quiz's value of the sort column and
+ * its id. Clients get it as an opaque URL-safe string and pass it back to fetch the next page.
+ */
+record CatalogCursor(String sort, String key, long id) {
+
+    String encode() {
+        String value = sort + "|" + key + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static CatalogCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Expected 3 parts");
+            }
+            return new CatalogCursor(parts[0], parts[1], Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid page cursor.");
+        }
+    }
+}
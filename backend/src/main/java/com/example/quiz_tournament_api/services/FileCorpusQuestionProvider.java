@@ -0,0 +1,226 @@
+package com.example.quiz_tournament_api.services;
+
+import com.example.quiz_tournament_api.models.Question;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link QuestionProvider} serving questions from a local corpus file, for load tests and for running tournaments
+ * while the Open Trivia API is unavailable.
+ *
+ * The corpus is a JSON Lines file; every line is an Open Trivia result object plus its numeric {@code category_id}:
+ * <pre>
+ * {"category_id": 9, "category": "General Knowledge", "type": "multiple", "difficulty": "easy",
+ *  "question": "...", "correct_answer": "...", "incorrect_answers": ["...", "...", "..."]}
+ * </pre>
+ * The file is memory-mapped and indexed once at startup by (category, difficulty) to the offset and length of each
+ * line; a request only parses the lines it picks, so serving a question set costs no I/O and no network.
+ *
+ * The pick is seeded from {@code quiz.question-corpus.seed}, the quiz id, the category and the difficulty, so a quiz
+ * gets the same questions every time its set is fetched again, and load test runs are reproducible.
+ */
+@Service
+@ConditionalOnProperty(name = "quiz.question-provider", havingValue = "corpus")
+public class FileCorpusQuestionProvider implements QuestionProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(FileCorpusQuestionProvider.class);
+
+    @Value("${quiz.question-corpus.path}")
+    private String corpusPath;
+
+    @Value("${quiz.question-corpus.seed:0}")
+    private long seed;
+
+    private final JsonFactory jsonFactory;
+    private final TriviaIngestService triviaIngestService;
+
+    private MappedByteBuffer corpus;
+    private final Map<String, LineIndex> index = new HashMap<>();
+    private final Map<Integer, String> categoryNames = new TreeMap<>();
+
+    @Autowired
+    public FileCorpusQuestionProvider(ObjectMapper objectMapper, TriviaIngestService triviaIngestService) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.triviaIngestService = triviaIngestService;
+    }
+
+    @PostConstruct
+    public void loadCorpus() throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(corpusPath), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Question corpus larger than 2 GB is not supported: " + corpusPath);
+            }
+            corpus = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()); // Stays valid after close
+        }
+
+        byte[] scratch = new byte[4096];
+        int lines = 0;
+        int start = 0;
+        int limit = corpus.limit();
+        for (int position = 0; position <= limit; position++) {
+            if (position < limit && corpus.get(position) != '\n') {
+                continue;
+            }
+            int end = position;
+            if (end > start && corpus.get(end - 1) == '\r') {
+                end--;
+            }
+            int length = end - start;
+            if (length > 0) {
+                if (length > scratch.length) {
+                    scratch = new byte[Math.max(length, scratch.length * 2)];
+                }
+                corpus.get(start, scratch, 0, length);
+                indexLine(scratch, length, start);
+                lines++;
+            }
+            start = position + 1;
+        }
+        log.info("Indexed {} corpus questions in {} category/difficulty buckets from {}", lines, index.size(), corpusPath);
+    }
+
+    @Override
+    public String getName() {
+        return "corpus";
+    }
+
+    @Override
+    public CompletableFuture<List<Question>> fetchQuestions(int category, String difficulty, int amount) {
+        return fetchQuestions(0L, category, difficulty, amount);
+    }
+
+    @Override
+    public CompletableFuture<List<Question>> fetchQuestions(long quizId, int category, String difficulty, int amount) {
+        LineIndex lines = index.get(indexKey(category, difficulty));
+        if (lines == null || lines.size == 0) {
+            return CompletableFuture.failedFuture(new RuntimeException(
+                    "Question corpus has no questions for category " + category + " and difficulty " + difficulty));
+        }
+
+        try {
+            List<Question> questions = new ArrayList<>();
+            SplittableRandom random = new SplittableRandom(selectionSeed(quizId, category, difficulty));
+            for (int line : pickDistinct(random, lines.size, Math.min(amount, lines.size))) {
+                byte[] bytes = new byte[lines.lengths[line]];
+                corpus.get(lines.offsets[line], bytes);
+                try (JsonParser parser = jsonFactory.createParser(bytes)) {
+                    parser.nextToken();
+                    questions.add(triviaIngestService.parseResult(parser));
+                }
+            }
+            return CompletableFuture.completedFuture(questions);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new RuntimeException("Error reading question corpus: " + e.getMessage(), e));
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<Map<String, Object>>> fetchCategories() {
+        List<Map<String, Object>> categories = new ArrayList<>();
+        categoryNames.forEach((id, name) -> {
+            Map<String, Object> category = new LinkedHashMap<>();
+            category.put("id", id);
+            category.put("name", name);
+            categories.add(category);
+        });
+        return CompletableFuture.completedFuture(categories);
+    }
+
+    private void indexLine(byte[] line, int length, int offset) throws IOException {
+        int categoryId = -1;
+        String categoryName = null;
+        String difficulty = null;
+
+        try (JsonParser parser = jsonFactory.createParser(line, 0, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Corpus line at offset " + offset + " is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "category_id" -> categoryId = parser.getIntValue();
+                    case "category" -> categoryName = parser.getText();
+                    case "difficulty" -> difficulty = parser.getText();
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+
+        if (categoryId < 0 || difficulty == null) {
+            throw new IOException("Corpus line at offset " + offset + " has no category_id or difficulty");
+        }
+        if (categoryName != null) {
+            categoryNames.putIfAbsent(categoryId, categoryName);
+        }
+        index.computeIfAbsent(indexKey(categoryId, difficulty), key -> new LineIndex()).add(offset, length);
+    }
+
+    private static String indexKey(int category, String difficulty) {
+        return category + ":" + (difficulty == null ? "" : difficulty.toLowerCase());
+    }
+
+    // String.hashCode is specified, so the seed is the same on every JVM
+    private long selectionSeed(long quizId, int category, String difficulty) {
+        long mixed = seed;
+        mixed = 31 * mixed + quizId;
+        mixed = 31 * mixed + category;
+        mixed = 31 * mixed + indexKey(category, difficulty).hashCode();
+        return mixed;
+    }
+
+    // Floyd's algorithm: k distinct indexes out of n without materializing the whole range
+    private static Set<Integer> pickDistinct(SplittableRandom random, int n, int k) {
+        Set<Integer> picked = new LinkedHashSet<>();
+        for (int j = n - k; j < n; j++) {
+            int candidate = random.nextInt(j + 1);
+            if (!picked.add(candidate)) {
+                picked.add(j);
+            }
+        }
+        return picked;
+    }
+
+    // Offsets and lengths of the corpus lines of one bucket, as growable primitive arrays
+    private static final class LineIndex {
+        private int[] offsets = new int[16];
+        private int[] lengths = new int[16];
+        private int size;
+
+        private void add(int offset, int length) {
+            if (size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, size * 2);
+                lengths = Arrays.copyOf(lengths, size * 2);
+            }
+            offsets[size] = offset;
+            lengths[size] = length;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.quiz_tournament_api.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ranking of users by score, as an order-statistic tree (a treap whose nodes know their subtree size).
+ *
+ * Entries are ordered by score descending, then by time ascending (whoever got there first ranks higher), then by
+ * user id. Inserting, replacing or removing a user's entry, finding a user's rank and reading any rank range all take
+ * O(log n) expected time (plus the size of the range). Each user has at most one entry.
+ */
+public class Leaderboard {
+
+    private final Map<Long, Node> nodesByUser = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root;
+
+    /**
+     * Inserts the user's entry, replacing any previous one.
+     */
+    public void put(long userId, long score, long time) {
+        lock.writeLock().lock();
+        try {
+            Node previous = nodesByUser.remove(userId);
+            if (previous != null) {
+                root = delete(root, previous);
+            }
+            Node node = new Node(userId, score, time);
+            nodesByUser.put(userId, node);
+            root = insert(root, node);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(long userId) {
+        lock.writeLock().lock();
+        try {
+            Node node = nodesByUser.remove(userId);
+            if (node == null) {
+                return false;
+            }
+            root = delete(root, node);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size(root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the user's entry with its 1-based rank, or null if the user has no entry.
+     */
+    public Entry entryOf(long userId) {
+        lock.readLock().lock();
+        try {
+            Node node = nodesByUser.get(userId);
+            return node == null ? null : node.toEntry(rankOf(node));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the entries ranked 1..k.
+     */
+    public List<Entry> top(int k) {
+        return range(1, k);
+    }
+
+    /**
+     * @return up to {@code radius} entries on each side of the user plus the user's own entry, or an empty list if
+     *         the user has no entry.
+     */
+    public List<Entry> around(long userId, int radius) {
+        lock.readLock().lock();
+        try {
+            Node node = nodesByUser.get(userId);
+            if (node == null) {
+                return List.of();
+            }
+            int rank = rankOf(node);
+            int fromRank = Math.max(1, rank - radius);
+            return collectRange(fromRank, rank - fromRank + 1 + radius);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return up to {@code count} entries starting at the 1-based {@code fromRank}.
+     */
+    public List<Entry> range(int fromRank, int count) {
+        lock.readLock().lock();
+        try {
+            return collectRange(fromRank, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Entry> collectRange(int fromRank, int count) {
+        List<Entry> entries = new ArrayList<>(Math.max(0, Math.min(count, size(root) - fromRank + 1)));
+        if (count > 0 && fromRank >= 1) {
+            collect(root, fromRank - 1, fromRank - 1 + count, 0, entries);
+        }
+        return entries;
+    }
+
+    // In-order walk of the ranks [from, to) (0-based), skipping subtrees outside the range by their sizes
+    private static void collect(Node node, int from, int to, int offset, List<Entry> out) {
+        if (node == null || offset >= to || offset + node.size <= from) {
+            return;
+        }
+        collect(node.left, from, to, offset, out);
+        int position = offset + size(node.left);
+        if (position >= from && position < to) {
+            out.add(node.toEntry(position + 1));
+        }
+        collect(node.right, from, to, position + 1, out);
+    }
+
+    // 1-based rank of a node that is in the tree
+    private int rankOf(Node target) {
+        int rank = 0;
+        Node node = root;
+        while (node != null) {
+            int cmp = compare(target, node);
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                if (cmp == 0) {
+                    return rank;
+                }
+                node = node.right;
+            }
+        }
+        throw new IllegalStateException("Leaderboard entry of user " + target.userId + " is not in the tree");
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (added.priority > node.priority) {
+            Node[] parts = split(node, added);
+            added.left = parts[0];
+            added.right = parts[1];
+            return update(added);
+        }
+        if (compare(added, node) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return update(node);
+    }
+
+    private static Node delete(Node node, Node removed) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(removed, node);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = delete(node.left, removed);
+        } else {
+            node.right = delete(node.right, removed);
+        }
+        return update(node);
+    }
+
+    // Splits into nodes ordered before the key and nodes ordered after it
+    private static Node[] split(Node node, Node key) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (compare(node, key) < 0) {
+            Node[] parts = split(node.right, key);
+            node.right = parts[0];
+            parts[0] = update(node);
+            return parts;
+        }
+        Node[] parts = split(node.left, key);
+        node.left = parts[1];
+        parts[1] = update(node);
+        return parts;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    private static Node update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    // Score descending, then time ascending, then user id ascending
+    private static int compare(Node a, Node b) {
+        if (a.score != b.score) {
+            return a.score > b.score ? -1 : 1;
+        }
+        if (a.time != b.time) {
+            return a.time < b.time ? -1 : 1;
+        }
+        return Long.compare(a.userId, b.userId);
+    }
+
+    /**
+     * One ranked entry.
+     *
+     * @param rank 1-based position on the leaderboard.
+     * @param time the tie-breaker, e.g. the completion time in epoch milliseconds.
+     */
+    public record Entry(int rank, long userId, long score, long time) {
+    }
+
+    private static final class Node {
+        private final long userId;
+        private final long score;
+        private final long time;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(long userId, long score, long time) {
+            this.userId = userId;
+            this.score = score;
+            this.time = time;
+        }
+
+        private Entry toEntry(int rank) {
+            return new Entry(rank, userId, score, time);
+        }
+    }
+}
@@ -3,47 +3,83 @@ package com.example.quiz_tournament_api.services;
 import com.example.quiz_tournament_api.models.*;
 import com.example.quiz_tournament_api.models.Role;
 import com.example.quiz_tournament_api.repositories.QuizRepository;
-import com.example.quiz_tournament_api.repositories.UserLikesRepository;
 import com.example.quiz_tournament_api.repositories.UserQuizScoreRepository;
 import com.example.quiz_tournament_api.repositories.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
 public class QuizService {
 
-    @Value("${open.trivia.api.url}")
-    private String apiUrl;
-
-    private final RestTemplate restTemplate;
+    private final TriviaClient triviaClient;
+    private final QuestionService questionService;
+    private final QuestionPrefetchService questionPrefetchService;
+    private final CategoryCatalogService categoryCatalogService;
+    private final AnswerKeyIndex answerKeyIndex;
+    private final AttemptService attemptService;
+    private final ScoreWriteBehindService scoreWriteBehindService;
+    private final LeaderboardService leaderboardService;
+    private final SeasonLeaderboardService seasonLeaderboardService;
+    private final ScoreDistributionService scoreDistributionService;
+    private final ReactionCounterService reactionCounterService;
+    private final ReactionService reactionService;
+    private final QuizMembershipIndex quizMembershipIndex;
+    private final QuizStatusService quizStatusService;
+    private final QuizScheduleIndex quizScheduleIndex;
+    private final QuizCatalogService quizCatalogService;
     private final QuizRepository quizRepository;
-    private final UserLikesRepository userLikesRepository;
     private final UserRepository userRepository;
     private final UserQuizScoreRepository userQuizScoreRepository;
     private final EmailService emailService;
+    private final SingleFlight<Long, Optional<Quiz>> activeQuizLookups = new SingleFlight<>();
 
     @Autowired
-    public QuizService(RestTemplate restTemplate,
+    public QuizService(TriviaClient triviaClient,
+                       QuestionService questionService,
+                       QuestionPrefetchService questionPrefetchService,
+                       CategoryCatalogService categoryCatalogService,
+                       AnswerKeyIndex answerKeyIndex,
+                       AttemptService attemptService,
+                       ScoreWriteBehindService scoreWriteBehindService,
+                       LeaderboardService leaderboardService,
+                       SeasonLeaderboardService seasonLeaderboardService,
+                       ScoreDistributionService scoreDistributionService,
+                       ReactionCounterService reactionCounterService,
+                       ReactionService reactionService,
+                       QuizMembershipIndex quizMembershipIndex,
+                       QuizStatusService quizStatusService,
+                       QuizScheduleIndex quizScheduleIndex,
+                       QuizCatalogService quizCatalogService,
                        QuizRepository quizRepository,
-                       UserLikesRepository userLikesRepository,
                        UserRepository userRepository,
                        UserQuizScoreRepository userQuizScoreRepository,
                        EmailService emailService) {
-        this.restTemplate = restTemplate;
+        this.triviaClient = triviaClient;
+        this.questionService = questionService;
+        this.questionPrefetchService = questionPrefetchService;
+        this.categoryCatalogService = categoryCatalogService;
+        this.answerKeyIndex = answerKeyIndex;
+        this.attemptService = attemptService;
+        this.scoreWriteBehindService = scoreWriteBehindService;
+        this.leaderboardService = leaderboardService;
+        this.seasonLeaderboardService = seasonLeaderboardService;
+        this.scoreDistributionService = scoreDistributionService;
+        this.reactionCounterService = reactionCounterService;
+        this.reactionService = reactionService;
+        this.quizMembershipIndex = quizMembershipIndex;
+        this.quizStatusService = quizStatusService;
+        this.quizScheduleIndex = quizScheduleIndex;
+        this.quizCatalogService = quizCatalogService;
         this.quizRepository = quizRepository;
-        this.userLikesRepository = userLikesRepository;
         this.userRepository = userRepository;
         this.userQuizScoreRepository = userQuizScoreRepository;
         this.emailService = emailService;
@@ -51,7 +87,11 @@ public class QuizService {
 
     @Transactional
     public Quiz saveQuizAndNotifyPlayers(Quiz quiz) {
+        quiz.setPrefetchStatus(PrefetchStatus.PENDING);
+        quiz.setPrefetchedAt(null);
         Quiz savedQuiz = quizRepository.save(quiz);
+        quizScheduleIndex.put(savedQuiz.getId(), savedQuiz.getTitle(), savedQuiz.getStartDate(), savedQuiz.getEndDate());
+        questionPrefetchService.requestPrefetch(savedQuiz.getId());
         notifyPlayersAboutQuiz(savedQuiz);
         return savedQuiz;
     }
@@ -70,7 +110,7 @@ public class QuizService {
                 quiz.getTitle(),
                 quiz.getStartDate(),
                 quiz.getEndDate(),
-                quiz.getCategory(),
+                describeCategory(quiz.getCategory()),
                 quiz.getDifficulty()
         );
 
@@ -78,41 +118,90 @@ public class QuizService {
         emailService.sendBulkEmail(recipientEmails, subject, message);
     }
 
+    private String describeCategory(int category) {
+        String name = categoryCatalogService.getCategoryName(category);
+        return name != null ? name : String.valueOf(category);
+    }
+
+    // Every quiz as a whole entity; listings should use getQuizCatalog
     public List<Quiz> getAllQuizzes() {
-        return quizRepository.findAll();
+        List<Quiz> quizzes = quizRepository.findAll();
+        reactionCounterService.applyPending(quizzes);
+        return quizzes;
     }
 
-    public String fetchQuestionsForQuiz(Quiz quiz) {
-        String url = apiUrl + "?amount=" + quiz.getQuestionCount() +
-                "&category=" + quiz.getCategory() +
-                "&difficulty=" + quiz.getDifficulty() +
-                "&type=multiple";
+    public CompletableFuture<List<Question>> fetchQuestionsForQuiz(Quiz quiz) {
+        return questionService.getQuestionsForQuiz(quiz);
+    }
 
-        try {
-            ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-            if (response.getStatusCode().is2xxSuccessful()) {
-                return response.getBody();
-            } else {
-                throw new RuntimeException("Failed to fetch questions: " + response.getStatusCode());
-            }
-        } catch (HttpClientErrorException.TooManyRequests e) {
-            throw new RuntimeException("Rate limit exceeded. Please try again later.");
-        } catch (RestClientException e) {
-            throw new RuntimeException("Error calling external API: " + e.getMessage(), e);
-        }
+    // The questions as players see them: answers are graded server-side, so the answer key is never sent
+    public CompletableFuture<List<PlayQuestion>> fetchPlayQuestions(Quiz quiz) {
+        return fetchQuestionsForQuiz(quiz).thenApply(questions -> questions.stream().map(PlayQuestion::new).toList());
+    }
+
+    public Map<String, Object> getTriviaClientMetrics() {
+        return triviaClient.getMetrics();
+    }
+
+    public Map<String, Object> getResilienceMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("circuitBreaker", triviaClient.getCircuitBreakerMetrics());
+        metrics.put("fallback", questionService.getFallbackMetrics());
+        return metrics;
+    }
+
+    public Map<String, Object> getAnswerKeyMetrics() {
+        return answerKeyIndex.getMetrics();
+    }
+
+    public Map<String, Object> getScoreWriterMetrics() {
+        return scoreWriteBehindService.getMetrics();
+    }
+
+    public Map<String, Object> getReactionCounterMetrics() {
+        return reactionCounterService.getMetrics();
+    }
+
+    public Map<String, Object> getMembershipMetrics() {
+        return quizMembershipIndex.getMetrics();
+    }
+
+    public Map<String, Object> getMembershipMetrics(Long quizId) {
+        return quizMembershipIndex.describe(quizId);
+    }
+
+    public Map<String, Object> getAttemptSessionMetrics() {
+        return attemptService.getSessionMetrics();
+    }
+
+    public Map<String, Object> getCoalescingMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("questionFetches", questionService.getFetchCoalescingMetrics());
+        metrics.put("activeQuizLookups", activeQuizLookups.getMetrics());
+        return metrics;
     }
 
+    // The status lists come from the in-memory schedule once it is loaded
     public List<QuizSummary> getActiveQuizSummaries() {
+        if (quizScheduleIndex.isLoaded()) {
+            return quizScheduleIndex.getActive();
+        }
         LocalDateTime now = LocalDateTime.now();
         return quizRepository.findActiveQuizSummaries(now);
     }
 
     public List<QuizSummary> getUpcomingQuizzes() {
+        if (quizScheduleIndex.isLoaded()) {
+            return quizScheduleIndex.getUpcoming();
+        }
         LocalDateTime now = LocalDateTime.now();
         return quizRepository.findUpcomingQuizzes(now);
     }
 
     public List<QuizSummary> getPastQuizzes() {
+        if (quizScheduleIndex.isLoaded()) {
+            return quizScheduleIndex.getPast();
+        }
         LocalDateTime now = LocalDateTime.now();
         return quizRepository.findPastQuizzes(now);
     }
@@ -122,104 +211,201 @@ public class QuizService {
     }
 
     public Optional<Quiz> getActiveQuizById(Long id) {
-        LocalDateTime now = LocalDateTime.now();
-        return quizRepository.findByIdAndStartDateBeforeAndEndDateAfter(id, now, now);
+        QuizScheduleIndex.Status status = quizScheduleIndex.isLoaded() ? quizScheduleIndex.statusOf(id) : null;
+        if (status != null && status != QuizScheduleIndex.Status.ACTIVE) {
+            return Optional.empty(); // Not playable now, known without a query
+        }
+        // Active, or a quiz the index does not know yet (e.g. created on another node): the database decides
+        return activeQuizLookups.call(id, () -> {
+            LocalDateTime now = LocalDateTime.now();
+            return quizRepository.findByIdAndStartDateBeforeAndEndDateAfter(id, now, now);
+        });
     }
 
-    public Optional<String> playQuiz(Long id) {
+    public CompletableFuture<Optional<List<PlayQuestion>>> playQuiz(Long id) {
         Optional<Quiz> quizOpt = getActiveQuizById(id);
         if (quizOpt.isPresent()) {
             Quiz quiz = quizOpt.get();
-            return Optional.of(fetchQuestionsForQuiz(quiz));
+            return fetchPlayQuestions(quiz).thenApply(Optional::of);
         }
-        return Optional.empty();
+        return CompletableFuture.completedFuture(Optional.empty());
     }
 
-    public String validateAndProvideFeedback(Long quizId, AnswerRequest answerRequest) {
-        Optional<Quiz> quizOpt = quizRepository.findById(quizId);
-        if (quizOpt.isPresent()) {
-            String correctAnswer = fetchCorrectAnswer(answerRequest.getQuestionId());
-            if (answerRequest.getSubmittedAnswer().equalsIgnoreCase(correctAnswer)) {
-                return "Correct answer!";
-            } else {
-                return "Incorrect. The correct answer is: " + correctAnswer;
-            }
-        } else {
-            throw new RuntimeException("Quiz not found.");
+    /**
+     * Grades a single answer. With a user, the answer is also recorded in the user's attempt so its running score
+     * is available while the quiz is being played; without one it is a practice check only.
+     */
+    public String validateAndProvideFeedback(Long quizId, Long userId, AnswerRequest answerRequest) {
+        AnswerKeyIndex.QuizAnswerKey answerKey = getAnswerKey(quizId);
+        int position = answerKey.positionOf(answerRequest.getQuestionId());
+        if (position < 0) {
+            throw new RuntimeException("Question not found in this quiz.");
         }
-    }
-
-    private String fetchCorrectAnswer(Long questionId) {
-        throw new UnsupportedOperationException("Fetch correct answer logic not implemented.");
-    }
 
-    public int calculateScore(Long quizId, Long userId) {
-        return 8;
+        boolean correct = userId != null
+                ? attemptService.recordAnswers(quizId, userId, answerKey, List.of(answerRequest), false)
+                        .getResults().get(answerRequest.getQuestionId())
+                : answerKey.isCorrect(position, questionService.chosenOption(quizId, answerRequest));
+        if (correct) {
+            return "Correct answer!";
+        }
+        return questionService.findCachedQuestion(quizId, answerRequest.getQuestionId())
+                .map(question -> "Incorrect. The correct answer is: " + question.getCorrectAnswer())
+                .orElse("Incorrect.");
     }
 
-    @Transactional
-    public void likeQuiz(Long quizId, Long userId) {
-        if (userLikesRepository.findByUserIdAndQuizId(userId, quizId).isPresent()) {
-            throw new RuntimeException("User already liked this quiz!");
+    // Answer keys are built when a question set is loaded; a quiz not loaded on this node is read from its stored
+    // rows. Grading never waits on the provider (it runs inside the submit transaction): a quiz whose questions were
+    // never fetched has nothing to grade yet.
+    private AnswerKeyIndex.QuizAnswerKey getAnswerKey(Long quizId) {
+        AnswerKeyIndex.QuizAnswerKey answerKey = answerKeyIndex.get(quizId);
+        if (answerKey != null) {
+            return answerKey;
         }
+        if (!quizRepository.existsById(quizId)) {
+            throw new RuntimeException("Quiz not found.");
+        }
+        List<Question> questions = questionService.findLoadedQuestions(quizId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT,
+                        "The questions of this quiz are not loaded yet. Open the quiz to play it first."));
+        return answerKeyIndex.build(quizId, questions);
+    }
 
-        Quiz quiz = quizRepository.findById(quizId)
-                .orElseThrow(() -> new RuntimeException("Quiz not found"));
-
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    /**
+     * @return the user's attempt with its running score, for a quiz in progress as well as a completed one.
+     */
+    public QuizAttempt getAttempt(Long quizId, Long userId) {
+        return attemptService.getAttempt(quizId, userId);
+    }
 
-        UserLikes userLike = new UserLikes(quiz, user, true);
-        userLikesRepository.save(userLike);
+    /**
+     * @return the in-memory session of an attempt in progress, or null if this node has none.
+     */
+    public AttemptSessionStore.Session getAttemptSession(Long quizId, Long userId) {
+        return attemptService.getSession(quizId, userId);
+    }
 
-        quiz.incrementLikes();
-        quizRepository.save(quiz);
+    /**
+     * Sets, switches or clears the user's reaction to the quiz in one upsert (see {@link ReactionService}).
+     */
+    public Map<String, Object> reactToQuiz(Long quizId, Long userId, String reaction) {
+        return reactionService.react(quizId, userId, ReactionService.parse(reaction));
     }
 
+    public Reaction getReaction(Long quizId, Long userId) {
+        return quizMembershipIndex.reactionOf(quizId, userId);
+    }
 
+    /**
+     * Grades the remaining answers of an attempt against the quiz's answer key, completes the attempt and records
+     * the score (queued for a batched insert once the transaction commits). Every question of the quiz counts
+     * towards the total; unanswered questions count as wrong and a question answered twice is graded on its first
+     * answer.
+     */
     @Transactional
-    public void dislikeQuiz(Long quizId, Long userId) {
-        if (userLikesRepository.hasUserReacted(quizId, userId, false)) {
-            throw new RuntimeException("User has already disliked this quiz!");
+    public SubmissionResult submitAttempt(Long quizId, Long userId, List<AnswerRequest> answers) {
+        SubmissionResult result = attemptService.recordAnswers(quizId, userId, getAnswerKey(quizId), answers, true);
+
+        // Completing the attempt is what allows one score per user; the score row itself is written behind
+        LocalDateTime completionDate = LocalDateTime.now();
+        scoreWriteBehindService.record(quizId, userId, result.getCorrectAnswers(), result.getTotalQuestions(),
+                result.getPercentage(), completionDate);
+        leaderboardService.recordScore(quizId, userId, result.getCorrectAnswers(), completionDate);
+        seasonLeaderboardService.recordScore(userId, quizId, result.getCorrectAnswers(), result.getPercentage(),
+                completionDate);
+        scoreDistributionService.recordScore(quizId, result.getPercentage());
+        quizMembershipIndex.recordCompletion(quizId, userId);
+        return result;
+    }
+
+    /**
+     * @return one page of the quiz's scores, best first, and the cursor of the next page (null on the last page).
+     */
+    public Map<String, Object> getQuizScorePage(Long quizId, String cursor, int limit) {
+        PageRequest page = PageRequest.ofSize(limit + 1); // One extra row tells whether there is a next page
+        List<ScoreSummary> scores;
+        if (cursor == null || cursor.isBlank()) {
+            scores = userQuizScoreRepository.findQuizScoreSummaries(quizId, page);
+        } else {
+            ScoreCursor after = ScoreCursor.decode(cursor);
+            scores = userQuizScoreRepository.findQuizScoreSummariesAfter(quizId, after.correctAnswers(),
+                    after.completionDate(), after.id(), page);
         }
-        userLikesRepository.addUserReaction(quizId, userId, false);
-        quizRepository.incrementDislikes(quizId);
+        return scorePage(scores, limit);
     }
 
-    @Transactional
-    public void recordQuizScore(Long quizId, Long userId, int correctAnswers, int totalQuestions) {
-        Quiz quiz = quizRepository.findById(quizId)
-                .orElseThrow(() -> new RuntimeException("Quiz not found"));
+    public List<Map<String, Object>> getLeaderboard(Long quizId, int limit) {
+        return leaderboardService.getTop(quizId, limit);
+    }
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public Map<String, Object> getLeaderboardStanding(Long quizId, Long userId, int radius) {
+        Map<String, Object> standing = leaderboardService.getStanding(quizId, userId, radius);
+        if (standing == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User has no score for this quiz.");
+        }
+        return standing;
+    }
 
-        if (userQuizScoreRepository.findByQuizIdAndUserId(quizId, userId).isPresent()) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "User already completed this quiz!");
+    public Map<String, Object> getScoreStats(Long quizId) {
+        if (!quizRepository.existsById(quizId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Quiz not found.");
         }
+        return scoreDistributionService.getStats(quizId);
+    }
 
-        double percentage = ((double) correctAnswers / totalQuestions) * 100;
+    public List<Map<String, Object>> getSeasonLeaderboard(String window, String rankBy, int limit) {
+        return seasonLeaderboardService.getTop(SeasonLeaderboardService.Window.parse(window),
+                SeasonLeaderboardService.RankBy.parse(rankBy), limit);
+    }
 
-        UserQuizScore score = new UserQuizScore(quiz, user, correctAnswers, totalQuestions, percentage, LocalDateTime.now());
-        userQuizScoreRepository.save(score);
+    public Map<String, Object> getSeasonStanding(String window, String rankBy, Long userId, int radius) {
+        Map<String, Object> standing = seasonLeaderboardService.getStanding(SeasonLeaderboardService.Window.parse(window),
+                SeasonLeaderboardService.RankBy.parse(rankBy), userId, radius);
+        if (standing == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User has no score in this period.");
+        }
+        return standing;
     }
 
-    public List<UserQuizScore> getQuizScores(Long quizId) {
-        List<UserQuizScore> scores = userQuizScoreRepository.findByQuizId(quizId);
-        return scores != null ? scores : Collections.emptyList(); // Ensure it never returns null
+    /**
+     * @return one page of the user's scores, best first, and the cursor of the next page (null on the last page).
+     */
+    public Map<String, Object> getUserScorePage(Long userId, String cursor, int limit) {
+        PageRequest page = PageRequest.ofSize(limit + 1);
+        List<ScoreSummary> scores;
+        if (cursor == null || cursor.isBlank()) {
+            scores = userQuizScoreRepository.findUserScoreSummaries(userId, page);
+        } else {
+            ScoreCursor after = ScoreCursor.decode(cursor);
+            scores = userQuizScoreRepository.findUserScoreSummariesAfter(userId, after.correctAnswers(),
+                    after.completionDate(), after.id(), page);
+        }
+        return scorePage(scores, limit);
     }
 
-    public List<UserQuizScore> getUserScores(Long userId) {
-        return userQuizScoreRepository.findByUserId(userId);
+    private static Map<String, Object> scorePage(List<ScoreSummary> scores, int limit) {
+        boolean hasMore = scores.size() > limit;
+        List<ScoreSummary> items = hasMore ? scores.subList(0, limit) : scores;
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("items", items);
+        page.put("nextCursor", hasMore ? ScoreCursor.after(items.get(limit - 1)).encode() : null);
+        return page;
     }
+
     public Quiz saveQuiz(Quiz quiz) {
-        return quizRepository.save(quiz);
+        Quiz savedQuiz = quizRepository.save(quiz);
+        quizScheduleIndex.put(savedQuiz.getId(), savedQuiz.getTitle(), savedQuiz.getStartDate(), savedQuiz.getEndDate());
+        return savedQuiz;
     }
 
 
+    @Transactional
     public void updateQuizDetails(Long quizId, Map<String, Object> updates) {
         Quiz quiz = quizRepository.findById(quizId)
                 .orElseThrow(() -> new RuntimeException("Quiz not found"));
+        int previousCategory = quiz.getCategory();
+        String previousDifficulty = quiz.getDifficulty();
+        int previousQuestionCount = quiz.getQuestionCount();
 
         // Iterate through the map and update fields dynamically
         updates.forEach((key, value) -> {
@@ -273,16 +459,50 @@ public class QuizService {
             }
         });
 
+        // A different question selection invalidates the stored question set
+        boolean selectionChanged = quiz.getCategory() != previousCategory
+                || quiz.getQuestionCount() != previousQuestionCount
+                || !Objects.equals(quiz.getDifficulty(), previousDifficulty);
+        if (selectionChanged) {
+            quiz.setPrefetchStatus(PrefetchStatus.PENDING);
+            quiz.setPrefetchedAt(null);
+        }
+
         // Save the updated entity
         quizRepository.save(quiz);
+        quizScheduleIndex.put(quizId, quiz.getTitle(), quiz.getStartDate(), quiz.getEndDate());
+
+        if (selectionChanged) {
+            questionService.deleteQuestionsForQuiz(quizId);
+            questionPrefetchService.requestPrefetch(quizId);
+        }
     }
+
+    @Transactional
     public void deleteQuiz(Long id) {
         Quiz quiz = quizRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Quiz not found"));
 
+        questionService.deleteQuestionsForQuiz(id); // Also drops the cached set and answer key on commit
+        attemptService.deleteAttemptsForQuiz(id);
+        leaderboardService.dropQuiz(id);
+        scoreDistributionService.dropQuiz(id);
+        reactionCounterService.dropQuiz(id);
+        quizMembershipIndex.dropQuiz(id);
+        quizScheduleIndex.remove(id);
         quizRepository.delete(quiz);
     }
 
+    public Map<String, Object> getPersonalizedQuizzes(Long userId, Integer category, String difficulty, String status,
+                                                      int page, int size) {
+        return quizStatusService.getListing(userId, category, difficulty, status, page, size);
+    }
+
+    public Map<String, Object> getQuizCatalog(Integer category, String difficulty, String status, String createdBy,
+                                              String sort, boolean ascending, String cursor, int limit) {
+        return quizCatalogService.getPage(category, difficulty, status, createdBy, sort, ascending, cursor, limit);
+    }
+
     public List<Map<String, Object>> getAllQuizzesWithStatus() {
         LocalDateTime now = LocalDateTime.now();
         return quizRepository.findAll().stream().map(quiz -> {
@@ -300,11 +520,24 @@ public class QuizService {
             quizData.put("id", quiz.getId());
             quizData.put("title", quiz.getTitle());
             quizData.put("category", quiz.getCategory());
+            quizData.put("categoryName", categoryCatalogService.getCategoryName(quiz.getCategory()));
             quizData.put("difficulty", quiz.getDifficulty());
             quizData.put("status", status);
+            quizData.put("prefetchStatus", quiz.getPrefetchStatus());
 
             return quizData;
         }).collect(Collectors.toList());
     }
-}
 
+    public List<Map<String, Object>> getPrefetchStatuses() {
+        return quizRepository.findAll().stream().map(quiz -> {
+            Map<String, Object> quizData = new HashMap<>();
+            quizData.put("id", quiz.getId());
+            quizData.put("title", quiz.getTitle());
+            quizData.put("startDate", quiz.getStartDate());
+            quizData.put("prefetchStatus", quiz.getPrefetchStatus());
+            quizData.put("prefetchedAt", quiz.getPrefetchedAt());
+            return quizData;
+        }).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.quiz_tournament_api.services;
+
+import com.example.quiz_tournament_api.models.Reaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Sets a user's reaction to a quiz with one statement on {@code user_likes}.
+ *
+ * Liking or disliking is an upsert that only touches the row when the reaction changes and reports whether it
+ * inserted or flipped it; clearing is a delete that returns the removed reaction. From that the like/dislike deltas
+ * follow (a flip is -1 on one counter and +1 on the other) and go to the {@link ReactionCounterService} together
+ * after commit, so both counters move in the same flush.
+ */
+@Service
+public class ReactionService {
+
+    // Returns no row when the reaction is unchanged or the quiz or user does not exist;
+    // xmax = 0 tells an inserted row from an updated one
+    private static final String UPSERT_REACTION =
+            "INSERT INTO user_likes (quiz_id, user_id, liked) " +
+            "SELECT q.id, u.id, ? FROM quiz q, users u WHERE q.id = ? AND u.id = ? " +
+            "ON CONFLICT (quiz_id, user_id) DO UPDATE SET liked = EXCLUDED.liked " +
+            "WHERE user_likes.liked <> EXCLUDED.liked " +
+            "RETURNING (xmax = 0)";
+
+    private static final String DELETE_REACTION =
+            "DELETE FROM user_likes WHERE quiz_id = ? AND user_id = ? RETURNING liked";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReactionCounterService reactionCounterService;
+    private final QuizMembershipIndex quizMembershipIndex;
+
+    @Autowired
+    public ReactionService(JdbcTemplate jdbcTemplate, ReactionCounterService reactionCounterService,
+                           QuizMembershipIndex quizMembershipIndex) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reactionCounterService = reactionCounterService;
+        this.quizMembershipIndex = quizMembershipIndex;
+    }
+
+    public static Reaction parse(String value) {
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "like" -> Reaction.LIKE;
+            case "dislike" -> Reaction.DISLIKE;
+            case "clear", "none" -> Reaction.CLEAR;
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown reaction: " + value);
+        };
+    }
+
+    /**
+     * Sets the user's reaction; setting the current reaction again changes nothing.
+     *
+     * @return the reaction and whether it changed.
+     */
+    @Transactional
+    public Map<String, Object> react(Long quizId, Long userId, Reaction reaction) {
+        boolean changed;
+        if (reaction == Reaction.CLEAR) {
+            List<Boolean> removed = jdbcTemplate.queryForList(DELETE_REACTION, Boolean.class, quizId, userId);
+            changed = !removed.isEmpty();
+            if (changed) {
+                boolean liked = removed.get(0);
+                reactionCounterService.add(quizId, liked ? -1 : 0, liked ? 0 : -1);
+            }
+        } else {
+            boolean liked = reaction == Reaction.LIKE;
+            List<Boolean> inserted = jdbcTemplate.queryForList(UPSERT_REACTION, Boolean.class, liked, quizId, userId);
+            changed = !inserted.isEmpty();
+            if (changed) {
+                // A new row adds one reaction; a flipped row also takes one away from the other counter
+                int removedOther = inserted.get(0) ? 0 : -1;
+                reactionCounterService.add(quizId, liked ? 1 : removedOther, liked ? removedOther : 1);
+            } else if (jdbcTemplate.queryForList("SELECT 1 FROM user_likes WHERE quiz_id = ? AND user_id = ?",
+                    Integer.class, quizId, userId).isEmpty()) {
+                // Nothing was written and there is no reaction to keep: the quiz or the user is missing
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Quiz or user not found.");
+            }
+        }
+
+        if (changed) {
+            quizMembershipIndex.recordReaction(quizId, userId, reaction);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("quizId", quizId);
+        result.put("userId", userId);
+        result.put("reaction", reaction);
+        result.put("changed", changed);
+        return result;
+    }
+}
@@ -0,0 +1,343 @@
+package com.example.quiz_tournament_api.services;
+
+import com.example.quiz_tournament_api.models.User;
+import com.example.quiz_tournament_api.repositories.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Leaderboards across all quizzes for the all-time, weekly (ISO week, from Monday) and monthly windows.
+ *
+ * Each window keeps per-user running totals (quizzes played, correct answers, summed percentage) and two
+ * {@link Leaderboard}s, one ranked by total correct answers and one by average percentage. A committed score updates
+ * the totals of every window it falls into in O(log n); the weekly and monthly windows start over empty as soon as
+ * a score, a read or the hourly check sees that the calendar has moved on. At startup each window is loaded with
+ * one aggregate query per window, streamed one row per user. Scores committed before the load finishes are buffered
+ * and replayed on top of it, unless the load already counted their rows.
+ */
+@Service
+public class SeasonLeaderboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(SeasonLeaderboardService.class);
+
+    private static final int FETCH_SIZE = 1000;
+
+    public enum Window {
+        ALL_TIME,
+        WEEK,
+        MONTH;
+
+        // First day of the window containing the date
+        private LocalDate startOf(LocalDate date) {
+            return switch (this) {
+                case ALL_TIME -> LocalDate.MIN;
+                case WEEK -> date.with(DayOfWeek.MONDAY);
+                case MONTH -> date.withDayOfMonth(1);
+            };
+        }
+
+        public static Window parse(String value) {
+            return switch (value.toLowerCase(Locale.ROOT)) {
+                case "all", "all-time", "all_time" -> ALL_TIME;
+                case "week" -> WEEK;
+                case "month" -> MONTH;
+                default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown leaderboard window: " + value);
+            };
+        }
+    }
+
+    public enum RankBy {
+        CORRECT_ANSWERS,
+        PERCENTAGE;
+
+        public static RankBy parse(String value) {
+            return switch (value.toLowerCase(Locale.ROOT)) {
+                case "correct", "correct-answers", "correct_answers" -> CORRECT_ANSWERS;
+                case "percentage" -> PERCENTAGE;
+                default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown leaderboard ranking: " + value);
+            };
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final Map<Window, Season> seasons = new EnumMap<>(Window.class);
+
+    // Scores committed until the windows are loaded (null afterwards); guarded by seasons
+    private List<PendingScore> pending = new ArrayList<>();
+
+    @Autowired
+    public SeasonLeaderboardService(JdbcTemplate jdbcTemplate, UserRepository userRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userRepository = userRepository;
+        LocalDate today = LocalDate.now();
+        for (Window window : Window.values()) {
+            seasons.put(window, new Season(window.startOf(today)));
+        }
+    }
+
+    /**
+     * Adds a completed score to every window it falls into, once the surrounding transaction commits.
+     */
+    public void recordScore(long userId, long quizId, int correctAnswers, double percentage,
+                            LocalDateTime completionDate) {
+        PendingScore score = new PendingScore(userId, quizId, correctAnswers, percentage, completionDate);
+        AfterCommit.run(() -> {
+            synchronized (seasons) {
+                if (pending != null) {
+                    pending.add(score); // The windows are still loading
+                    return;
+                }
+            }
+            for (Window window : Window.values()) {
+                addTo(current(window), window, score);
+            }
+        });
+    }
+
+    /**
+     * @return the first {@code limit} entries of the window's leaderboard.
+     */
+    public List<Map<String, Object>> getTop(Window window, RankBy rankBy, int limit) {
+        Season season = current(window);
+        return describe(season, season.board(rankBy).top(limit));
+    }
+
+    /**
+     * @return the user's rank in the window and the entries within {@code radius} ranks of it, or null if the user
+     *         has no score in the window.
+     */
+    public Map<String, Object> getStanding(Window window, RankBy rankBy, long userId, int radius) {
+        Season season = current(window);
+        Leaderboard board = season.board(rankBy);
+        Leaderboard.Entry entry = board.entryOf(userId);
+        if (entry == null) {
+            return null;
+        }
+        Map<String, Object> standing = new LinkedHashMap<>();
+        standing.put("window", window);
+        standing.put("windowStart", window == Window.ALL_TIME ? null : season.start);
+        standing.put("rank", entry.rank());
+        standing.put("participants", board.size());
+        standing.put("around", describe(season, board.around(userId, radius)));
+        return standing;
+    }
+
+    // Starts the weekly and monthly windows over even when nobody reads or scores across the boundary
+    @Scheduled(cron = "0 0 * * * *")
+    public void rollOverWindows() {
+        for (Window window : Window.values()) {
+            current(window);
+        }
+    }
+
+    /**
+     * Loads every window from {@code user_quiz_scores}: the database aggregates per user, and the rows are streamed
+     * with a cursor inside a read-only transaction. All queries read one snapshot, so a buffered score is replayed
+     * exactly when its row was not part of the aggregates.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(ScoreWriteBehindService.LOAD_AFTER_RESTORE_ORDER)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void rebuild() {
+        try {
+            load();
+        } catch (RuntimeException e) {
+            // Keep scoring on the empty windows rather than buffering forever
+            synchronized (seasons) {
+                List<PendingScore> buffered = pending;
+                pending = null;
+                for (PendingScore score : buffered) {
+                    for (Window window : Window.values()) {
+                        addTo(current(window), window, score);
+                    }
+                }
+            }
+            throw e;
+        }
+    }
+
+    private void load() {
+        LocalDate today = LocalDate.now();
+        Map<Window, Season> loaded = new EnumMap<>(Window.class);
+        for (Window window : Window.values()) {
+            Season season = new Season(window.startOf(today));
+            int[] users = new int[1];
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(
+                        "SELECT user_id, COUNT(*), SUM(correct_answers), SUM(percentage), MAX(completion_date) " +
+                        "FROM user_quiz_scores WHERE completion_date >= ? GROUP BY user_id",
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setTimestamp(1, window == Window.ALL_TIME
+                        ? new Timestamp(0) : Timestamp.valueOf(season.start.atStartOfDay()));
+                ps.setFetchSize(FETCH_SIZE);
+                return ps;
+            }, (RowCallbackHandler) rs -> {
+                season.add(rs.getLong(1), rs.getInt(2), rs.getLong(3), rs.getDouble(4), rs.getTimestamp(5).getTime());
+                users[0]++;
+            });
+            loaded.put(window, season);
+            log.info("Loaded the {} leaderboard with {} players", window, users[0]);
+        }
+
+        // Check the buffered scores against the snapshot without holding the lock, until none are left unchecked
+        Set<PendingScore> counted = new HashSet<>();
+        int checked = 0;
+        while (true) {
+            List<PendingScore> unchecked;
+            synchronized (seasons) {
+                unchecked = new ArrayList<>(pending.subList(checked, pending.size()));
+                if (unchecked.isEmpty()) {
+                    int replayed = 0;
+                    for (PendingScore score : pending) {
+                        if (!counted.contains(score)) {
+                            loaded.forEach((window, season) -> addTo(season, window, score));
+                            replayed++;
+                        }
+                    }
+                    seasons.putAll(loaded);
+                    pending = null;
+                    log.info("Replayed {} scores recorded while the season leaderboards loaded", replayed);
+                    return;
+                }
+            }
+            for (PendingScore score : unchecked) {
+                Integer rows = jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM user_quiz_scores WHERE user_id = ? AND quiz_id = ?",
+                        Integer.class, score.userId(), score.quizId());
+                if (rows != null && rows > 0) {
+                    counted.add(score);
+                }
+            }
+            checked += unchecked.size();
+        }
+    }
+
+    private static void addTo(Season season, Window window, PendingScore score) {
+        if (season.start.equals(window.startOf(score.completionDate().toLocalDate()))) {
+            season.add(score.userId(), 1, score.correctAnswers(), score.percentage(),
+                    toEpochMillis(score.completionDate()));
+        }
+    }
+
+    // The window's current season, replaced by an empty one once its period has passed
+    private Season current(Window window) {
+        LocalDate start = window.startOf(LocalDate.now());
+        synchronized (seasons) {
+            Season season = seasons.get(window);
+            if (!season.start.equals(start)) {
+                season = new Season(start);
+                seasons.put(window, season);
+            }
+            return season;
+        }
+    }
+
+    // Entries with the usernames and totals of their players, usernames resolved in one query
+    private List<Map<String, Object>> describe(Season season, List<Leaderboard.Entry> entries) {
+        Map<Long, String> usernames = new HashMap<>();
+        for (User user : userRepository.findAllById(entries.stream().map(Leaderboard.Entry::userId).toList())) {
+            usernames.put(user.getId(), user.getUsername());
+        }
+        return entries.stream().map(entry -> {
+            Totals totals = season.totals(entry.userId());
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("rank", entry.rank());
+            row.put("userId", entry.userId());
+            row.put("username", usernames.get(entry.userId()));
+            row.put("quizzesPlayed", totals.quizzes);
+            row.put("correctAnswers", totals.correctAnswers);
+            row.put("averagePercentage", totals.averagePercentage());
+            return row;
+        }).toList();
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record PendingScore(long userId, long quizId, int correctAnswers, double percentage,
+                                LocalDateTime completionDate) {}
+
+    // Running totals of one user in one season
+    private static final class Totals {
+        private long quizzes;
+        private long correctAnswers;
+        private double percentageSum;
+        private long lastScoredAt;
+
+        private double averagePercentage() {
+            return quizzes == 0 ? 0 : percentageSum / quizzes;
+        }
+
+        private Totals copy() {
+            Totals copy = new Totals();
+            copy.quizzes = quizzes;
+            copy.correctAnswers = correctAnswers;
+            copy.percentageSum = percentageSum;
+            copy.lastScoredAt = lastScoredAt;
+            return copy;
+        }
+    }
+
+    // One period of a window: per-user totals and the two rankings derived from them
+    private static final class Season {
+        private final LocalDate start;
+        private final Map<Long, Totals> totalsByUser = new HashMap<>();
+        private final Leaderboard byCorrectAnswers = new Leaderboard();
+        private final Leaderboard byPercentage = new Leaderboard();
+
+        private Season(LocalDate start) {
+            this.start = start;
+        }
+
+        private synchronized void add(long userId, long quizzes, long correctAnswers, double percentageSum, long time) {
+            Totals totals = totalsByUser.computeIfAbsent(userId, id -> new Totals());
+            totals.quizzes += quizzes;
+            totals.correctAnswers += correctAnswers;
+            totals.percentageSum += percentageSum;
+            totals.lastScoredAt = Math.max(totals.lastScoredAt, time);
+            // Ties go to whoever reached the total first; percentages are ranked in hundredths of a percent
+            byCorrectAnswers.put(userId, totals.correctAnswers, totals.lastScoredAt);
+            byPercentage.put(userId, Math.round(totals.averagePercentage() * 100), totals.lastScoredAt);
+        }
+
+        private synchronized Totals totals(long userId) {
+            Totals totals = totalsByUser.get(userId);
+            return totals == null ? new Totals() : totals.copy();
+        }
+
+        private Leaderboard board(RankBy rankBy) {
+            return rankBy == RankBy.PERCENTAGE ? byPercentage : byCorrectAnswers;
+        }
+    }
+}
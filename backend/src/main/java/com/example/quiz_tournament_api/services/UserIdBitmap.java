@@ -0,0 +1,243 @@
+package com.example.quiz_tournament_api.services;
+
+import java.util.Arrays;
+
+/**
+ * Compressed set of user ids in the Roaring layout: ids are split by their high 16 bits into chunks of 65536, and
+ * each chunk is stored either as a sorted array of its low 16 bits (up to 4096 ids, 2 bytes per id) or as a
+ * 65536-bit bitmap (8 KB), whichever is smaller. Ids must be in [0, 2^32).
+ *
+ * Not thread-safe; callers synchronize.
+ */
+final class UserIdBitmap {
+
+    static final long MAX_ID = 0xFFFF_FFFFL;
+
+    private static final int ARRAY_MAX = 4096; // Above this many ids a bitmap chunk is the smaller one
+    private static final int BITMAP_WORDS = 1 << 10;
+
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int chunks;
+    private long cardinality;
+
+    static boolean isIndexable(long id) {
+        return id >= 0 && id <= MAX_ID;
+    }
+
+    /**
+     * @return true if the id was not in the set.
+     */
+    boolean add(long id) {
+        checkId(id);
+        char key = (char) (id >>> 16);
+        char low = (char) id;
+        int index = Arrays.binarySearch(keys, 0, chunks, key);
+        if (index < 0) {
+            index = -index - 1;
+            if (chunks == keys.length) {
+                keys = Arrays.copyOf(keys, chunks * 2);
+                containers = Arrays.copyOf(containers, chunks * 2);
+            }
+            System.arraycopy(keys, index, keys, index + 1, chunks - index);
+            System.arraycopy(containers, index, containers, index + 1, chunks - index);
+            keys[index] = key;
+            containers[index] = new ArrayContainer();
+            chunks++;
+        }
+        Container container = containers[index];
+        int before = container.cardinality();
+        containers[index] = container.add(low);
+        if (containers[index].cardinality() == before) {
+            return false;
+        }
+        cardinality++;
+        return true;
+    }
+
+    /**
+     * @return true if the id was in the set.
+     */
+    boolean remove(long id) {
+        if (!isIndexable(id)) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, 0, chunks, (char) (id >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        Container container = containers[index];
+        int before = container.cardinality();
+        Container updated = container.remove((char) id);
+        if (updated.cardinality() == before) {
+            return false;
+        }
+        cardinality--;
+        if (updated.cardinality() == 0) {
+            System.arraycopy(keys, index + 1, keys, index, chunks - index - 1);
+            System.arraycopy(containers, index + 1, containers, index, chunks - index - 1);
+            chunks--;
+            containers[chunks] = null;
+        } else {
+            containers[index] = updated;
+        }
+        return true;
+    }
+
+    boolean contains(long id) {
+        if (!isIndexable(id)) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, 0, chunks, (char) (id >>> 16));
+        return index >= 0 && containers[index].contains((char) id);
+    }
+
+    long cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * @return approximate heap use: chunk keys and references plus the containers' arrays.
+     */
+    long sizeInBytes() {
+        long bytes = 16L + 2L * keys.length + 4L * containers.length;
+        for (int i = 0; i < chunks; i++) {
+            bytes += containers[i].sizeInBytes();
+        }
+        return bytes;
+    }
+
+    private static void checkId(long id) {
+        if (!isIndexable(id)) {
+            throw new IllegalArgumentException("User id out of bitmap range: " + id);
+        }
+    }
+
+    private interface Container {
+        // Both return the container to keep, which is a different kind once the size crosses ARRAY_MAX
+        Container add(char value);
+
+        Container remove(char value);
+
+        boolean contains(char value);
+
+        int cardinality();
+
+        long sizeInBytes();
+    }
+
+    private static final class ArrayContainer implements Container {
+        private char[] values = new char[4];
+        private int size;
+
+        @Override
+        public Container add(char value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (size == ARRAY_MAX) {
+                return toBitmap().add(value);
+            }
+            index = -index - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(size * 2, ARRAY_MAX));
+            }
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = value;
+            size++;
+            return this;
+        }
+
+        @Override
+        public Container remove(char value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, size - index - 1);
+                size--;
+            }
+            return this;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return size;
+        }
+
+        @Override
+        public long sizeInBytes() {
+            return 32L + 2L * values.length;
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < size; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    private static final class BitmapContainer implements Container {
+        private final long[] words = new long[BITMAP_WORDS];
+        private int cardinality;
+
+        @Override
+        public Container add(char value) {
+            long bit = 1L << value;
+            int word = value >>> 6;
+            if ((words[word] & bit) == 0) {
+                words[word] |= bit;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        public Container remove(char value) {
+            long bit = 1L << value;
+            int word = value >>> 6;
+            if ((words[word] & bit) != 0) {
+                words[word] &= ~bit;
+                cardinality--;
+                if (cardinality <= ARRAY_MAX) {
+                    return toArray();
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public long sizeInBytes() {
+            return 24L + 8L * BITMAP_WORDS;
+        }
+
+        private ArrayContainer toArray() {
+            ArrayContainer array = new ArrayContainer();
+            array.values = new char[ARRAY_MAX];
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                long bits = words[word];
+                while (bits != 0) {
+                    array.values[array.size++] = (char) ((word << 6) + Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+            return array;
+        }
+    }
+}
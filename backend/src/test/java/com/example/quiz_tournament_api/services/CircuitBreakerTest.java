@@ -0,0 +1,112 @@
+package com.example.quiz_tournament_api.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    @Test
+    void opensAfterConsecutiveFailures() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 3, HOUR);
+
+        fail(breaker);
+        fail(breaker);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        fail(breaker);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertTrue(breaker.isOpen());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(1L, breaker.getMetrics().get("rejectedCalls"));
+    }
+
+    @Test
+    void successResetsTheFailureCount() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 3, HOUR);
+
+        fail(breaker);
+        fail(breaker);
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+        fail(breaker);
+        fail(breaker);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(2, breaker.getMetrics().get("consecutiveFailures"));
+    }
+
+    @Test
+    void letsOneProbeThroughOnceTheOpenDurationHasElapsed() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 0);
+        fail(breaker);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.isOpen()); // Cooled down already
+
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire()); // Only one probe at a time
+    }
+
+    @Test
+    void successfulProbeClosesTheBreaker() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 0);
+        fail(breaker);
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void failedProbeReopensTheBreaker() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 0);
+        fail(breaker);
+        assertTrue(breaker.tryAcquire());
+
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void staysOpenUntilTheOpenDurationHasElapsed() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, HOUR);
+        fail(breaker);
+
+        for (int i = 0; i < 3; i++) {
+            assertFalse(breaker.tryAcquire());
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(3L, breaker.getMetrics().get("rejectedCalls"));
+    }
+
+    @Test
+    void countsTransitions() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 0);
+        fail(breaker);
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+
+        @SuppressWarnings("unchecked")
+        Map<String, Long> transitions = (Map<String, Long>) breaker.getMetrics().get("transitions");
+        assertEquals(Map.of("CLOSED->OPEN", 1L, "OPEN->HALF_OPEN", 2L, "HALF_OPEN->OPEN", 1L,
+                "HALF_OPEN->CLOSED", 1L), transitions);
+    }
+
+    private static void fail(CircuitBreaker breaker) {
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.quiz_tournament_api.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyServiceTest {
+
+    private static final long DAY = 86_400_000L;
+
+    @Test
+    void retryGetsTheOriginalResultWithoutRunningAgain() {
+        IdempotencyService idempotencyService = new IdempotencyService(DAY, 100);
+        AtomicInteger runs = new AtomicInteger();
+
+        String key = "user:1:submit:abc";
+        IdempotencyService.Result<Integer> first = idempotencyService.execute(key, runs::incrementAndGet);
+        IdempotencyService.Result<Integer> retry = idempotencyService.execute(key, runs::incrementAndGet);
+
+        assertEquals(1, first.value());
+        assertFalse(first.replayed());
+        assertEquals(1, retry.value());
+        assertTrue(retry.replayed());
+        assertEquals(1, runs.get());
+        assertEquals(1L, idempotencyService.getMetrics().get("executed"));
+        assertEquals(1L, idempotencyService.getMetrics().get("replayed"));
+    }
+
+    @Test
+    void differentKeysRunSeparately() {
+        IdempotencyService idempotencyService = new IdempotencyService(DAY, 100);
+        AtomicInteger runs = new AtomicInteger();
+
+        idempotencyService.execute("a", runs::incrementAndGet);
+        idempotencyService.execute("b", runs::incrementAndGet);
+
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void failedRequestIsForgottenSoItsRetryRuns() {
+        IdempotencyService idempotencyService = new IdempotencyService(DAY, 100);
+        IllegalStateException failure = new IllegalStateException("database down");
+
+        assertSame(failure, assertThrows(IllegalStateException.class,
+                () -> idempotencyService.execute("k", () -> { throw failure; })));
+        IdempotencyService.Result<String> retry = idempotencyService.execute("k", () -> "ok");
+
+        assertEquals("ok", retry.value());
+        assertFalse(retry.replayed());
+    }
+
+    @Test
+    void retryWhileTheFirstRequestRunsWaitsForIt() throws Exception {
+        IdempotencyService idempotencyService = new IdempotencyService(DAY, 100);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        CompletableFuture<IdempotencyService.Result<Integer>> first = CompletableFuture.supplyAsync(
+                () -> idempotencyService.execute("k", () -> {
+                    started.countDown();
+                    await(release);
+                    return runs.incrementAndGet();
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<IdempotencyService.Result<Integer>> retry = CompletableFuture.supplyAsync(
+                () -> idempotencyService.execute("k", runs::incrementAndGet));
+        Thread.sleep(50);
+        assertFalse(retry.isDone());
+
+        release.countDown();
+
+        assertEquals(1, first.get(5, TimeUnit.SECONDS).value());
+        assertEquals(1, retry.get(5, TimeUnit.SECONDS).value());
+        assertTrue(retry.get().replayed());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void expiredKeyRunsAgain() {
+        IdempotencyService idempotencyService = new IdempotencyService(-1, 100); // Every result expires at once
+        AtomicInteger runs = new AtomicInteger();
+
+        idempotencyService.execute("k", runs::incrementAndGet);
+        IdempotencyService.Result<Integer> retry = idempotencyService.execute("k", runs::incrementAndGet);
+
+        assertEquals(2, retry.value());
+        assertFalse(retry.replayed());
+    }
+
+    @Test
+    void sweepRemovesExpiredResults() {
+        IdempotencyService expiring = new IdempotencyService(-1, 100);
+        expiring.execute("a", () -> 1);
+        expiring.execute("b", () -> 2);
+        IdempotencyService kept = new IdempotencyService(DAY, 100);
+        kept.execute("a", () -> 1);
+
+        expiring.evictExpired();
+        kept.evictExpired();
+
+        assertEquals(0, expiring.getMetrics().get("keys"));
+        assertEquals(1, kept.getMetrics().get("keys"));
+    }
+
+    @Test
+    void requestsRunUnrememberedOnceFull() {
+        IdempotencyService idempotencyService = new IdempotencyService(DAY, 1);
+        AtomicInteger runs = new AtomicInteger();
+
+        idempotencyService.execute("a", runs::incrementAndGet);
+        idempotencyService.execute("b", runs::incrementAndGet);
+        IdempotencyService.Result<Integer> retry = idempotencyService.execute("b", runs::incrementAndGet);
+
+        assertEquals(3, retry.value());
+        assertFalse(retry.replayed());
+        assertTrue(idempotencyService.execute("a", runs::incrementAndGet).replayed());
+        assertEquals(2L, idempotencyService.getMetrics().get("notRemembered"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
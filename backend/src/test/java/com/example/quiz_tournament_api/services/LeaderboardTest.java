@@ -0,0 +1,127 @@
+package com.example.quiz_tournament_api.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LeaderboardTest {
+
+    @Test
+    void ranksByScoreThenTimeThenUser() {
+        Leaderboard leaderboard = new Leaderboard();
+        leaderboard.put(1, 50, 300);
+        leaderboard.put(2, 80, 200);
+        leaderboard.put(3, 80, 100); // Same score as user 2, but earlier
+        leaderboard.put(5, 50, 300); // Same score and time as user 1
+        leaderboard.put(4, 50, 300);
+
+        assertEquals(List.of(
+                new Leaderboard.Entry(1, 3, 80, 100),
+                new Leaderboard.Entry(2, 2, 80, 200),
+                new Leaderboard.Entry(3, 1, 50, 300),
+                new Leaderboard.Entry(4, 4, 50, 300),
+                new Leaderboard.Entry(5, 5, 50, 300)), leaderboard.top(10));
+        assertEquals(new Leaderboard.Entry(4, 4, 50, 300), leaderboard.entryOf(4));
+        assertEquals(5, leaderboard.size());
+    }
+
+    @Test
+    void putReplacesTheUsersEntry() {
+        Leaderboard leaderboard = new Leaderboard();
+        leaderboard.put(1, 10, 1);
+        leaderboard.put(2, 20, 1);
+        leaderboard.put(1, 30, 2);
+
+        assertEquals(2, leaderboard.size());
+        assertEquals(new Leaderboard.Entry(1, 1, 30, 2), leaderboard.entryOf(1));
+        assertEquals(new Leaderboard.Entry(2, 2, 20, 1), leaderboard.entryOf(2));
+    }
+
+    @Test
+    void removeDropsTheEntryAndShiftsLowerRanks() {
+        Leaderboard leaderboard = new Leaderboard();
+        leaderboard.put(1, 30, 1);
+        leaderboard.put(2, 20, 1);
+        leaderboard.put(3, 10, 1);
+
+        assertTrue(leaderboard.remove(1));
+        assertFalse(leaderboard.remove(1));
+
+        assertNull(leaderboard.entryOf(1));
+        assertEquals(1, leaderboard.entryOf(2).rank());
+        assertEquals(2, leaderboard.entryOf(3).rank());
+        assertEquals(2, leaderboard.size());
+    }
+
+    @Test
+    void rangesAreClippedToTheBoard() {
+        Leaderboard leaderboard = new Leaderboard();
+        for (long userId = 1; userId <= 10; userId++) {
+            leaderboard.put(userId, 100 - userId, 0); // User n ranks n
+        }
+
+        assertEquals(List.of(9L, 10L), userIds(leaderboard.range(9, 5)));
+        assertEquals(List.of(), leaderboard.range(11, 5));
+        assertEquals(List.of(), leaderboard.range(0, 5));
+        assertEquals(List.of(), leaderboard.top(0));
+        assertEquals(List.of(1L, 2L, 3L), userIds(leaderboard.around(1, 2)));
+        assertEquals(List.of(3L, 4L, 5L, 6L, 7L), userIds(leaderboard.around(5, 2)));
+        assertEquals(List.of(8L, 9L, 10L), userIds(leaderboard.around(10, 2)));
+        assertEquals(List.of(), leaderboard.around(11, 2));
+    }
+
+    @Test
+    void matchesASortedListUnderRandomUpdatesAndDeletes() {
+        Leaderboard leaderboard = new Leaderboard();
+        Map<Long, Leaderboard.Entry> expected = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(7);
+
+        for (int operation = 0; operation < 5_000; operation++) {
+            long userId = random.nextInt(300);
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(userId) != null, leaderboard.remove(userId));
+            } else {
+                long score = random.nextInt(50); // Few distinct scores, so ties are common
+                long time = random.nextInt(10);
+                leaderboard.put(userId, score, time);
+                expected.put(userId, new Leaderboard.Entry(0, userId, score, time));
+            }
+
+            if (operation % 100 == 0) {
+                List<Leaderboard.Entry> ranked = ranked(expected);
+                assertEquals(ranked, leaderboard.top(ranked.size()));
+                assertEquals(ranked.subList(0, Math.min(10, ranked.size())), leaderboard.top(10));
+                for (Leaderboard.Entry entry : ranked) {
+                    assertEquals(entry, leaderboard.entryOf(entry.userId()));
+                }
+            }
+        }
+        assertEquals(expected.size(), leaderboard.size());
+    }
+
+    private static List<Leaderboard.Entry> ranked(Map<Long, Leaderboard.Entry> entries) {
+        List<Leaderboard.Entry> sorted = new ArrayList<>(entries.values());
+        sorted.sort(Comparator.comparingLong((Leaderboard.Entry entry) -> -entry.score())
+                .thenComparingLong(Leaderboard.Entry::time)
+                .thenComparingLong(Leaderboard.Entry::userId));
+        List<Leaderboard.Entry> ranked = new ArrayList<>();
+        for (Leaderboard.Entry entry : sorted) {
+            ranked.add(new Leaderboard.Entry(ranked.size() + 1, entry.userId(), entry.score(), entry.time()));
+        }
+        return ranked;
+    }
+
+    private static List<Long> userIds(List<Leaderboard.Entry> entries) {
+        return entries.stream().map(Leaderboard.Entry::userId).toList();
+    }
+}
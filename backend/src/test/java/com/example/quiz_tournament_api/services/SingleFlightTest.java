@@ -0,0 +1,108 @@
+package com.example.quiz_tournament_api.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    @Test
+    void callersOfTheSameKeyShareOneLoad() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        CompletableFuture<Integer> load = new CompletableFuture<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        CompletableFuture<Integer> first = singleFlight.execute("quiz:1", () -> {
+            loads.incrementAndGet();
+            return load;
+        });
+        CompletableFuture<Integer> second = singleFlight.execute("quiz:1", () -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(-1);
+        });
+
+        assertFalse(first.isDone());
+        assertFalse(second.isDone());
+        load.complete(42);
+
+        assertEquals(42, first.join());
+        assertEquals(42, second.join());
+        assertEquals(1, loads.get());
+        assertEquals(1L, singleFlight.getMetrics().get("flights"));
+        assertEquals(1L, singleFlight.getMetrics().get("collapsedCallers"));
+        assertEquals(2L, singleFlight.getMetrics().get("maxCallersPerFlight"));
+    }
+
+    @Test
+    void differentKeysLoadSeparately() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        CompletableFuture<Integer> first = singleFlight.execute("a", CompletableFuture::new);
+        CompletableFuture<Integer> second = singleFlight.execute("b", () -> CompletableFuture.completedFuture(2));
+
+        assertFalse(first.isDone());
+        assertEquals(2, second.join());
+        assertEquals(1, singleFlight.getMetrics().get("inFlight"));
+    }
+
+    @Test
+    void keyIsReleasedOnceTheLoadCompletes() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(1, singleFlight.call("k", loads::incrementAndGet));
+        assertEquals(2, singleFlight.call("k", loads::incrementAndGet));
+        assertEquals(0, singleFlight.getMetrics().get("inFlight"));
+    }
+
+    @Test
+    void failureReachesEveryCallerAndReleasesTheKey() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        CompletableFuture<Integer> load = new CompletableFuture<>();
+        CompletableFuture<Integer> first = singleFlight.execute("k", () -> load);
+        CompletableFuture<Integer> second = singleFlight.execute("k", () -> load);
+        IllegalStateException failure = new IllegalStateException("provider down");
+
+        load.completeExceptionally(failure);
+
+        assertSame(failure, assertThrows(CompletionException.class, first::join).getCause());
+        assertSame(failure, assertThrows(CompletionException.class, second::join).getCause());
+        assertEquals(7, singleFlight.execute("k", () -> CompletableFuture.completedFuture(7)).join());
+    }
+
+    @Test
+    void loaderThrowingIsAFailedLoad() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+
+        CompletableFuture<Integer> result = singleFlight.execute("k", () -> {
+            throw new IllegalArgumentException("bad key");
+        });
+
+        assertTrue(result.isCompletedExceptionally());
+        assertThrows(IllegalArgumentException.class, () -> singleFlight.call("k", () -> {
+            throw new IllegalArgumentException("bad key");
+        }));
+        assertEquals(0, singleFlight.getMetrics().get("inFlight"));
+    }
+
+    @Test
+    void cancellingOneCallerDoesNotAffectTheOthers() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        CompletableFuture<Integer> load = new CompletableFuture<>();
+        CompletableFuture<Integer> first = singleFlight.execute("k", () -> load);
+        CompletableFuture<Integer> second = singleFlight.execute("k", () -> load);
+
+        first.cancel(true);
+        load.complete(5);
+
+        assertTrue(first.isCancelled());
+        assertEquals(5, second.join());
+    }
+}
@@ -1,23 +1,28 @@
 package com.example.quiz_tournament_api.controllers;
 
 import com.example.quiz_tournament_api.models.Quiz;
+import com.example.quiz_tournament_api.models.QuizAttempt;
 import com.example.quiz_tournament_api.models.QuizSummary;
 import com.example.quiz_tournament_api.models.AnswerRequest;
-import com.example.quiz_tournament_api.models.UserQuizScore;
+import com.example.quiz_tournament_api.models.SubmissionResult;
+import com.example.quiz_tournament_api.services.AttemptSessionStore;
+import com.example.quiz_tournament_api.services.CategoryCatalogService;
 import com.example.quiz_tournament_api.services.EmailService;
+import com.example.quiz_tournament_api.services.IdempotencyService;
 import com.example.quiz_tournament_api.services.QuizService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import jakarta.validation.Valid;
 
 
@@ -26,10 +31,15 @@ import jakarta.validation.Valid;
 public class QuizController {
 
     private final QuizService quizService;
+    private final CategoryCatalogService categoryCatalogService;
+    private final IdempotencyService idempotencyService;
 
     @Autowired
-    public QuizController(QuizService quizService) {
+    public QuizController(QuizService quizService, CategoryCatalogService categoryCatalogService,
+                          IdempotencyService idempotencyService) {
         this.quizService = quizService;
+        this.categoryCatalogService = categoryCatalogService;
+        this.idempotencyService = idempotencyService;
     }
 
     @PostMapping("/create")
@@ -66,96 +76,284 @@ public class QuizController {
         return ResponseEntity.ok(quizService.getAllQuizzes());
     }
 
+    @GetMapping("/catalog")
+    public ResponseEntity<Map<String, Object>> getQuizCatalog(
+            @RequestParam(required = false) Integer category,
+            @RequestParam(required = false) String difficulty,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String createdBy,
+            @RequestParam(defaultValue = "startDate") String sort,
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(quizService.getQuizCatalog(category, difficulty, status, createdBy, sort,
+                "asc".equalsIgnoreCase(direction), cursor, Math.min(Math.max(limit, 1), 200)));
+    }
+
     @GetMapping("/all-with-status")
     public ResponseEntity<List<Map<String, Object>>> getAllQuizzesWithStatus() {
         List<Map<String, Object>> quizzesWithStatus = quizService.getAllQuizzesWithStatus();
         return ResponseEntity.ok(quizzesWithStatus);
     }
 
+    @GetMapping("/personalized")
+    public ResponseEntity<Map<String, Object>> getPersonalizedQuizzes(
+            @RequestParam Long userId,
+            @RequestParam(required = false) Integer category,
+            @RequestParam(required = false) String difficulty,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(quizService.getPersonalizedQuizzes(userId, category, difficulty, status,
+                Math.max(page, 0), Math.min(Math.max(size, 1), 100)));
+    }
+
+    @GetMapping("/prefetch-status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<Map<String, Object>>> getPrefetchStatuses() {
+        return ResponseEntity.ok(quizService.getPrefetchStatuses());
+    }
+
     @GetMapping("/{quizId}/participants")
-    public ResponseEntity<List<UserQuizScore>> getQuizParticipants(@PathVariable Long quizId) {
-        List<UserQuizScore> participants = quizService.getQuizScores(quizId);
-        System.out.println("Quiz ID: " + quizId + ", Participants Count: " + participants.size());
-        return ResponseEntity.ok(participants);
+    public ResponseEntity<Map<String, Object>> getQuizParticipants(
+            @PathVariable Long quizId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(quizService.getQuizScorePage(quizId, cursor, Math.min(Math.max(limit, 1), 200)));
     }
 
 
     @GetMapping("/{id}/play")
     @PreAuthorize("hasAnyRole('PLAYER')")
-    public ResponseEntity<String> playQuiz(@PathVariable Long id) {
+    public CompletableFuture<ResponseEntity<?>> playQuiz(@PathVariable Long id) {
         Optional<Quiz> quiz = quizService.getActiveQuizById(id);
         if (quiz.isPresent()) {
-            String questions = quizService.fetchQuestionsForQuiz(quiz.get());
-            return ResponseEntity.ok(questions);
+            // The request thread is released while the questions are fetched
+            return quizService.fetchPlayQuestions(quiz.get())
+                    .<ResponseEntity<?>>thenApply(ResponseEntity::ok);
         } else {
-            return ResponseEntity.status(403).body("Quiz is not available for play or has expired.");
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(403).body("Quiz is not available for play or has expired."));
         }
     }
 
     @PostMapping("/{id}/submit")
-    public ResponseEntity<String> submitAnswer(@PathVariable Long id, @RequestBody AnswerRequest answerRequest) {
-        String feedback = quizService.validateAndProvideFeedback(id, answerRequest);
+    public ResponseEntity<String> submitAnswer(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long userId,
+            @RequestBody AnswerRequest answerRequest
+    ) {
+        String feedback = quizService.validateAndProvideFeedback(id, userId, answerRequest);
         return ResponseEntity.ok(feedback);
     }
 
+    @PostMapping("/{id}/attempt")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PLAYER')")
+    public ResponseEntity<SubmissionResult> submitAttempt(
+            @PathVariable Long id,
+            @RequestParam Long userId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody List<AnswerRequest> answers
+    ) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return ResponseEntity.ok(quizService.submitAttempt(id, userId, answers));
+        }
+        // A retry with the same key gets the first submission's result (or error) without reaching the database
+        IdempotencyService.Result<SubmissionResult> result = idempotencyService.execute(
+                "attempt:" + id + ":" + userId + ":" + idempotencyKey, () -> quizService.submitAttempt(id, userId, answers));
+        return ResponseEntity.ok()
+                .header("Idempotent-Replayed", String.valueOf(result.replayed()))
+                .body(result.value());
+    }
+
     @GetMapping("/{id}/score")
     public ResponseEntity<String> getQuizScore(@PathVariable Long id, @RequestParam Long userId) {
-        int score = quizService.calculateScore(id, userId);
-        return ResponseEntity.ok("Your score: " + score + "/10");
+        AttemptSessionStore.Session session = quizService.getAttemptSession(id, userId);
+        if (session != null) {
+            // In progress on this node: answered from memory
+            return ResponseEntity.ok("Your score so far: " + session.correctCount() + "/" + session.totalQuestions()
+                    + " (" + session.answeredCount() + " answered, next question " + (session.currentIndex() + 1) + ")");
+        }
+        QuizAttempt attempt = quizService.getAttempt(id, userId);
+        if (attempt.isCompleted()) {
+            return ResponseEntity.ok("Your score: " + attempt.getCorrectAnswers() + "/" + attempt.getTotalQuestions());
+        }
+        return ResponseEntity.ok("Your score so far: " + attempt.getCorrectAnswers() + "/" + attempt.getTotalQuestions()
+                + " (" + attempt.getAnsweredQuestions() + " answered)");
     }
 
     @GetMapping("/categories")
-    public ResponseEntity<List<Map<String, Object>>> fetchCategories() {
-        String apiUrl = "https://opentdb.com/api_category.php";
-        RestTemplate restTemplate = new RestTemplate();
+    public CompletableFuture<ResponseEntity<List<Map<String, Object>>>> fetchCategories(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return categoryCatalogService.getCatalog()
+                .thenApply(catalog -> {
+                    if (catalog.matches(ifNoneMatch)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(catalog.etag()).<List<Map<String, Object>>>build();
+                    }
+                    return ResponseEntity.ok().eTag(catalog.etag()).body(catalog.categories());
+                })
+                .exceptionally(e -> ResponseEntity.status(500).body(null));
+    }
 
-        try {
-            ResponseEntity<Map> response = restTemplate.getForEntity(apiUrl, Map.class);
-            List<Map<String, Object>> categories = (List<Map<String, Object>>) response.getBody().get("trivia_categories");
-            return ResponseEntity.ok(categories);
-        } catch (Exception e) {
-            return ResponseEntity.status(500).body(null);
-        }
+    @GetMapping("/metrics/trivia-client")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getTriviaClientMetrics() {
+        return ResponseEntity.ok(quizService.getTriviaClientMetrics());
+    }
+
+    @GetMapping("/metrics/resilience")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getResilienceMetrics() {
+        return ResponseEntity.ok(quizService.getResilienceMetrics());
+    }
+
+    @GetMapping("/metrics/answer-keys")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getAnswerKeyMetrics() {
+        return ResponseEntity.ok(quizService.getAnswerKeyMetrics());
+    }
+
+    @GetMapping("/metrics/attempt-sessions")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getAttemptSessionMetrics() {
+        return ResponseEntity.ok(quizService.getAttemptSessionMetrics());
+    }
+
+    @GetMapping("/metrics/score-writer")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getScoreWriterMetrics() {
+        return ResponseEntity.ok(quizService.getScoreWriterMetrics());
+    }
+
+    @GetMapping("/metrics/reactions")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getReactionCounterMetrics() {
+        return ResponseEntity.ok(quizService.getReactionCounterMetrics());
     }
 
+    @GetMapping("/metrics/memberships")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getMembershipMetrics() {
+        return ResponseEntity.ok(quizService.getMembershipMetrics());
+    }
+
+    @GetMapping("/metrics/memberships/{quizId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getMembershipMetrics(@PathVariable Long quizId) {
+        return ResponseEntity.ok(quizService.getMembershipMetrics(quizId));
+    }
+
+    @GetMapping("/metrics/idempotency")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getIdempotencyMetrics() {
+        return ResponseEntity.ok(idempotencyService.getMetrics());
+    }
+
+    @GetMapping("/metrics/coalescing")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getCoalescingMetrics() {
+        return ResponseEntity.ok(quizService.getCoalescingMetrics());
+    }
+
+    @PostMapping("/{id}/reaction")
+    public ResponseEntity<Map<String, Object>> reactToQuiz(
+            @PathVariable Long id,
+            @RequestParam Long userId,
+            @RequestParam String type // like, dislike or clear
+    ) {
+        return ResponseEntity.ok(quizService.reactToQuiz(id, userId, type));
+    }
+
+    @GetMapping("/{id}/reaction")
+    public ResponseEntity<Map<String, Object>> getReaction(@PathVariable Long id, @RequestParam Long userId) {
+        return ResponseEntity.ok(Map.of("quizId", id, "userId", userId, "reaction", quizService.getReaction(id, userId)));
+    }
+
+    // Kept for existing clients; both are a reaction upsert
     @PostMapping("/{id}/like")
     public ResponseEntity<String> likeQuiz(@PathVariable Long id, @RequestParam Long userId) {
-        quizService.likeQuiz(id, userId);
+        quizService.reactToQuiz(id, userId, "like");
         return ResponseEntity.ok("Quiz liked successfully!");
     }
 
     @PostMapping("/{id}/unlike")
     public ResponseEntity<String> unlikeQuiz(@PathVariable Long id, @RequestParam Long userId) {
-        quizService.dislikeQuiz(id, userId);
+        quizService.reactToQuiz(id, userId, "dislike");
         return ResponseEntity.ok("Quiz unliked successfully!");
     }
 
 
-    @PostMapping("/{quizId}/score")
-    public ResponseEntity<String> recordScore(
+    @GetMapping("/{quizId}/scores")
+    public ResponseEntity<Map<String, Object>> getQuizScores(
+            @PathVariable Long quizId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(quizService.getQuizScorePage(quizId, cursor, Math.min(Math.max(limit, 1), 200)));
+    }
+
+    @GetMapping("/{quizId}/leaderboard")
+    public ResponseEntity<List<Map<String, Object>>> getLeaderboard(
+            @PathVariable Long quizId,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(quizService.getLeaderboard(quizId, Math.min(Math.max(limit, 1), 100)));
+    }
+
+    @GetMapping("/{quizId}/leaderboard/me")
+    public ResponseEntity<Map<String, Object>> getLeaderboardStanding(
             @PathVariable Long quizId,
             @RequestParam Long userId,
-            @RequestParam int correctAnswers,
-            @RequestParam int totalQuestions
+            @RequestParam(defaultValue = "5") int radius
     ) {
-        quizService.recordQuizScore(quizId, userId, correctAnswers, totalQuestions);
-        return ResponseEntity.ok("Score recorded successfully!");
+        return ResponseEntity.ok(quizService.getLeaderboardStanding(quizId, userId, Math.min(Math.max(radius, 0), 50)));
     }
 
-    @GetMapping("/{quizId}/scores")
-    public ResponseEntity<List<UserQuizScore>> getQuizScores(@PathVariable Long quizId) {
-        List<UserQuizScore> scores = quizService.getQuizScores(quizId);
-        return ResponseEntity.ok(scores);
+    @GetMapping("/{quizId}/score-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getScoreStats(@PathVariable Long quizId) {
+        return ResponseEntity.ok(quizService.getScoreStats(quizId));
+    }
+
+    @GetMapping("/season-leaderboard")
+    public ResponseEntity<List<Map<String, Object>>> getSeasonLeaderboard(
+            @RequestParam(defaultValue = "week") String window,
+            @RequestParam(defaultValue = "correct") String rankBy,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(quizService.getSeasonLeaderboard(window, rankBy, Math.min(Math.max(limit, 1), 100)));
+    }
+
+    @GetMapping("/season-leaderboard/me")
+    public ResponseEntity<Map<String, Object>> getSeasonStanding(
+            @RequestParam Long userId,
+            @RequestParam(defaultValue = "week") String window,
+            @RequestParam(defaultValue = "correct") String rankBy,
+            @RequestParam(defaultValue = "5") int radius
+    ) {
+        return ResponseEntity.ok(quizService.getSeasonStanding(window, rankBy, userId, Math.min(Math.max(radius, 0), 50)));
     }
 
     @GetMapping("/user/{userId}/scores")
-    public ResponseEntity<List<UserQuizScore>> getUserScores(@PathVariable Long userId) {
-        List<UserQuizScore> scores = quizService.getUserScores(userId);
-        if (scores.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Collections.emptyList());
+    public ResponseEntity<Map<String, Object>> getUserScores(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        Map<String, Object> page = quizService.getUserScorePage(userId, cursor, Math.min(Math.max(limit, 1), 200));
+        if (cursor == null && ((List<?>) page.get("items")).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(page);
         }
-        return ResponseEntity.ok(scores);
+        return ResponseEntity.ok(page);
     }
 
+    // Last line of defence for writes that lose a race on a unique constraint (e.g. the same answer submitted twice
+    // at once): the client gets a conflict instead of a server error
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<String> handleConflict(DataIntegrityViolationException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("The request conflicts with data that was already recorded.");
+    }
 }
-
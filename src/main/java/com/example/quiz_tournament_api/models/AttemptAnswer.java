@@ -0,0 +1,89 @@
+package com.example.quiz_tournament_api.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "attempt_answers", uniqueConstraints = @UniqueConstraint(columnNames = {"attempt_id", "question_id"}))
+public class AttemptAnswer {
+
+    // Sequence ids (not IDENTITY) so Hibernate can batch the inserts of a whole attempt
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attempt_answer_seq")
+    @SequenceGenerator(name = "attempt_answer_seq", sequenceName = "attempt_answer_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "attempt_id", nullable = false)
+    private QuizAttempt attempt;
+
+    @Column(name = "question_id", nullable = false)
+    private Long questionId; // No foreign key: a quiz's question set may be replaced while its attempts are kept
+
+    private Integer chosenOption; // Index into the served options, null if the answer matched none of them
+
+    @Column(nullable = false)
+    private boolean correct;
+
+    @Column(nullable = false)
+    private LocalDateTime answeredAt;
+
+    // No-arg constructor for JPA
+    public AttemptAnswer() {}
+
+    public AttemptAnswer(QuizAttempt attempt, Long questionId, Integer chosenOption, boolean correct, LocalDateTime answeredAt) {
+        this.attempt = attempt;
+        this.questionId = questionId;
+        this.chosenOption = chosenOption;
+        this.correct = correct;
+        this.answeredAt = answeredAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public QuizAttempt getAttempt() {
+        return attempt;
+    }
+
+    public void setAttempt(QuizAttempt attempt) {
+        this.attempt = attempt;
+    }
+
+    public Long getQuestionId() {
+        return questionId;
+    }
+
+    public void setQuestionId(Long questionId) {
+        this.questionId = questionId;
+    }
+
+    public Integer getChosenOption() {
+        return chosenOption;
+    }
+
+    public void setChosenOption(Integer chosenOption) {
+        this.chosenOption = chosenOption;
+    }
+
+    public boolean isCorrect() {
+        return correct;
+    }
+
+    public void setCorrect(boolean correct) {
+        this.correct = correct;
+    }
+
+    public LocalDateTime getAnsweredAt() {
+        return answeredAt;
+    }
+
+    public void setAnsweredAt(LocalDateTime answeredAt) {
+        this.answeredAt = answeredAt;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.quiz_tournament_api.models;
+
+import java.util.List;
+
+/**
+ * A question as served to players: its text and answer options, without the answer key.
+ */
+public class PlayQuestion {
+    private Long id;               // ID of the question, sent back with the answer
+    private String category;
+    private String type;           // Question type (e.g., multiple, boolean)
+    private String difficulty;
+    private String text;
+    private List<String> options;  // All answers in the order selectedOption indexes refer to
+
+    // Default constructor
+    public PlayQuestion() {}
+
+    public PlayQuestion(Question question) {
+        this.id = question.getId();
+        this.category = question.getCategory();
+        this.type = question.getType();
+        this.difficulty = question.getDifficulty();
+        this.text = question.getText();
+        this.options = question.getOptions();
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(String difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public List<String> getOptions() {
+        return options;
+    }
+
+    public void setOptions(List<String> options) {
+        this.options = options;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.quiz_tournament_api.models;
+
+public enum PrefetchStatus {
+    PENDING,     // Question set not fetched yet
+    IN_PROGRESS, // Question set is being fetched and stored
+    READY,       // Question set is stored and the quiz can be played without calling the provider
+    STALE,       // A fallback set is served from memory while the provider is unavailable; replaced before the quiz starts
+    FAILED       // Last fetch failed; the scheduler will try again
+}
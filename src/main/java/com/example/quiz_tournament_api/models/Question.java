@@ -1,12 +1,15 @@
 package com.example.quiz_tournament_api.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.Random;
 
 @Entity
-@Table(name = "questions")
+@Table(name = "questions", uniqueConstraints = @UniqueConstraint(columnNames = {"quiz_id", "content_hash"}))
 public class Question {
 
     @Id
@@ -28,6 +31,10 @@ public class Question {
     @Column(nullable = false)
     private String correctAnswer; // Correct answer for the question
 
+    @JsonIgnore
+    @Column(name = "content_hash", length = 64)
+    private String contentHash; // SHA-256 of the normalized text and correct answer, used to drop duplicates
+
     @ElementCollection
     @CollectionTable(name = "question_incorrect_answers", joinColumns = @JoinColumn(name = "question_id"))
     @Column(name = "incorrect_answer")
@@ -39,7 +46,8 @@ public class Question {
     @Transient
     private String submittedAnswer; // The user's submitted answer (not persisted)
 
-    @ManyToOne
+    @JsonIgnore // The quiz is already known to the caller; avoid serializing it with every question
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "quiz_id", nullable = false)
     private Quiz quiz; // Reference to the parent quiz
 
@@ -105,6 +113,14 @@ public class Question {
         this.correctAnswer = correctAnswer;
     }
 
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
     public List<String> getIncorrectAnswers() {
         return incorrectAnswers;
     }
@@ -141,6 +157,9 @@ public class Question {
 
     /**
      * Combines the correct answer and incorrect answers into a single list, shuffles them, and returns the result.
+     * The options are sorted first (the incorrect answers are an unordered collection, loaded in no fixed order)
+     * and the shuffle is seeded by the question content, so every load on every server instance serves the same
+     * option order and option indexes submitted by players stay valid.
      *
      * @return a shuffled list of all answer options.
      */
@@ -152,7 +171,8 @@ public class Question {
         if (incorrectAnswers != null) {
             allOptions.addAll(incorrectAnswers);
         }
-        Collections.shuffle(allOptions); // Shuffle the options to randomize order
+        Collections.sort(allOptions);
+        Collections.shuffle(allOptions, new Random(Objects.hash(text, correctAnswer))); // Shuffle the options to randomize order
         return allOptions;
     }
 
@@ -6,7 +6,17 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "quiz")
+@Table(name = "quiz",
+        indexes = {
+                // Match the keyset orders of the catalog, unfiltered and per category or creator
+                @Index(name = "idx_quiz_start_date", columnList = "start_date, id"),
+                @Index(name = "idx_quiz_likes", columnList = "likes, id"),
+                @Index(name = "idx_quiz_popularity", columnList = "popularity, id"),
+                @Index(name = "idx_quiz_category_start_date", columnList = "category, start_date, id"),
+                @Index(name = "idx_quiz_category_likes", columnList = "category, likes, id"),
+                @Index(name = "idx_quiz_category_popularity", columnList = "category, popularity, id"),
+                @Index(name = "idx_quiz_created_by_start_date", columnList = "created_by, start_date, id")
+        })
 public class Quiz {
 
     @Id
@@ -40,6 +50,21 @@ public class Quiz {
     @Column(nullable = false)
     private int dislikes = 0; // Tracks the number of dislikes for the quiz, default to 0
 
+    // Net reactions, computed by the database so the catalog can sort on an index; never written by the application
+    @Column(columnDefinition = "integer GENERATED ALWAYS AS (likes - dislikes) STORED", insertable = false, updatable = false)
+    private Integer popularity;
+
+    @Transient
+    private int pendingLikes; // Counted in memory but not yet added to the likes column
+
+    @Transient
+    private int pendingDislikes; // Counted in memory but not yet added to the dislikes column
+
+    @Enumerated(EnumType.STRING)
+    private PrefetchStatus prefetchStatus = PrefetchStatus.PENDING; // Whether the question set is stored ahead of the start date
+
+    private LocalDateTime prefetchedAt; // When the question set was last stored
+
     @JsonIgnore // Prevent circular references during serialization
     @ManyToMany
     @JoinTable(
@@ -135,8 +160,9 @@ public class Quiz {
         this.createdBy = createdBy;
     }
 
+    // Includes reactions not yet flushed to the row (the column itself is mapped by field)
     public int getLikes() {
-        return likes;
+        return Math.max(likes + pendingLikes, 0);
     }
 
     public void setLikes(int likes) {
@@ -144,13 +170,34 @@ public class Quiz {
     }
 
     public int getDislikes() {
-        return dislikes;
+        return Math.max(dislikes + pendingDislikes, 0);
+    }
+
+    public void setPendingReactions(int pendingLikes, int pendingDislikes) {
+        this.pendingLikes = pendingLikes;
+        this.pendingDislikes = pendingDislikes;
     }
 
     public void setDislikes(int dislikes) {
         this.dislikes = dislikes;
     }
 
+    public PrefetchStatus getPrefetchStatus() {
+        return prefetchStatus != null ? prefetchStatus : PrefetchStatus.PENDING;
+    }
+
+    public void setPrefetchStatus(PrefetchStatus prefetchStatus) {
+        this.prefetchStatus = prefetchStatus;
+    }
+
+    public LocalDateTime getPrefetchedAt() {
+        return prefetchedAt;
+    }
+
+    public void setPrefetchedAt(LocalDateTime prefetchedAt) {
+        this.prefetchedAt = prefetchedAt;
+    }
+
     public List<User> getParticipants() {
         return participants;
     }
@@ -0,0 +1,113 @@
+package com.example.quiz_tournament_api.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "quiz_attempts", uniqueConstraints = @UniqueConstraint(columnNames = {"quiz_id", "user_id"}))
+public class QuizAttempt {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "quiz_id", nullable = false)
+    private Quiz quiz;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private int correctAnswers; // Running total, updated with every recorded answer
+
+    @Column(nullable = false)
+    private int answeredQuestions; // Running total, updated with every recorded answer
+
+    @Column(nullable = false)
+    private int totalQuestions; // Size of the question set when the attempt started
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    private LocalDateTime completedAt; // Null while the attempt is in progress
+
+    // No-arg constructor for JPA
+    public QuizAttempt() {}
+
+    public QuizAttempt(Quiz quiz, User user, int totalQuestions, LocalDateTime startedAt) {
+        this.quiz = quiz;
+        this.user = user;
+        this.totalQuestions = totalQuestions;
+        this.startedAt = startedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Quiz getQuiz() {
+        return quiz;
+    }
+
+    public void setQuiz(Quiz quiz) {
+        this.quiz = quiz;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public int getCorrectAnswers() {
+        return correctAnswers;
+    }
+
+    public void setCorrectAnswers(int correctAnswers) {
+        this.correctAnswers = correctAnswers;
+    }
+
+    public int getAnsweredQuestions() {
+        return answeredQuestions;
+    }
+
+    public void setAnsweredQuestions(int answeredQuestions) {
+        this.answeredQuestions = answeredQuestions;
+    }
+
+    public int getTotalQuestions() {
+        return totalQuestions;
+    }
+
+    public void setTotalQuestions(int totalQuestions) {
+        this.totalQuestions = totalQuestions;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public boolean isCompleted() {
+        return completedAt != null;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.quiz_tournament_api.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "quiz_score_histograms")
+public class QuizScoreHistogram {
+
+    @Id
+    @Column(name = "quiz_id")
+    private Long quizId;
+
+    @Column(nullable = false)
+    private byte[] buckets; // 101 big-endian ints: participants per whole percentage point (0..100)
+
+    @Column(nullable = false)
+    private long participants;
+
+    @Column(nullable = false)
+    private double percentageSum; // For the mean
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    // No-arg constructor for JPA
+    public QuizScoreHistogram() {}
+
+    public Long getQuizId() {
+        return quizId;
+    }
+
+    public void setQuizId(Long quizId) {
+        this.quizId = quizId;
+    }
+
+    public byte[] getBuckets() {
+        return buckets;
+    }
+
+    public void setBuckets(byte[] buckets) {
+        this.buckets = buckets;
+    }
+
+    public long getParticipants() {
+        return participants;
+    }
+
+    public void setParticipants(long participants) {
+        this.participants = participants;
+    }
+
+    public double getPercentageSum() {
+        return percentageSum;
+    }
+
+    public void setPercentageSum(double percentageSum) {
+        this.percentageSum = percentageSum;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.quiz_tournament_api.models;
+
+public enum Reaction {
+    LIKE,    // Stored as a user_likes row with liked = true
+    DISLIKE, // Stored as a user_likes row with liked = false
+    CLEAR    // No user_likes row
+}
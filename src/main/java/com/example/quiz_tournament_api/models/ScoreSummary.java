@@ -0,0 +1,105 @@
+package com.example.quiz_tournament_api.models;
+
+import java.time.LocalDateTime;
+
+public class ScoreSummary {
+    private Long id;                      // ID of the score row, part of the page cursor
+    private Long quizId;
+    private String quizTitle;
+    private Long userId;
+    private String username;
+    private int correctAnswers;
+    private int totalQuestions;
+    private double percentage;
+    private LocalDateTime completionDate;
+
+    // Default constructor
+    public ScoreSummary() {}
+
+    // Parameterized constructor for the custom query
+    public ScoreSummary(Long id, Long quizId, String quizTitle, Long userId, String username, int correctAnswers,
+                        int totalQuestions, double percentage, LocalDateTime completionDate) {
+        this.id = id;
+        this.quizId = quizId;
+        this.quizTitle = quizTitle;
+        this.userId = userId;
+        this.username = username;
+        this.correctAnswers = correctAnswers;
+        this.totalQuestions = totalQuestions;
+        this.percentage = percentage;
+        this.completionDate = completionDate;
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getQuizId() {
+        return quizId;
+    }
+
+    public void setQuizId(Long quizId) {
+        this.quizId = quizId;
+    }
+
+    public String getQuizTitle() {
+        return quizTitle;
+    }
+
+    public void setQuizTitle(String quizTitle) {
+        this.quizTitle = quizTitle;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public int getCorrectAnswers() {
+        return correctAnswers;
+    }
+
+    public void setCorrectAnswers(int correctAnswers) {
+        this.correctAnswers = correctAnswers;
+    }
+
+    public int getTotalQuestions() {
+        return totalQuestions;
+    }
+
+    public void setTotalQuestions(int totalQuestions) {
+        this.totalQuestions = totalQuestions;
+    }
+
+    public double getPercentage() {
+        return percentage;
+    }
+
+    public void setPercentage(double percentage) {
+        this.percentage = percentage;
+    }
+
+    public LocalDateTime getCompletionDate() {
+        return completionDate;
+    }
+
+    public void setCompletionDate(LocalDateTime completionDate) {
+        this.completionDate = completionDate;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.quiz_tournament_api.models;
+
+import java.util.Map;
+
+public class SubmissionResult {
+    private int correctAnswers;             // Number of questions answered correctly
+    private int totalQuestions;             // Number of questions in the quiz
+    private double percentage;              // correctAnswers / totalQuestions * 100
+    private Map<Long, Boolean> results;     // Question ID -> whether the submitted answer was correct
+
+    // Default constructor
+    public SubmissionResult() {}
+
+    public SubmissionResult(int correctAnswers, int totalQuestions, double percentage, Map<Long, Boolean> results) {
+        this.correctAnswers = correctAnswers;
+        this.totalQuestions = totalQuestions;
+        this.percentage = percentage;
+        this.results = results;
+    }
+
+    // Getters and setters
+    public int getCorrectAnswers() {
+        return correctAnswers;
+    }
+
+    public void setCorrectAnswers(int correctAnswers) {
+        this.correctAnswers = correctAnswers;
+    }
+
+    public int getTotalQuestions() {
+        return totalQuestions;
+    }
+
+    public void setTotalQuestions(int totalQuestions) {
+        this.totalQuestions = totalQuestions;
+    }
+
+    public double getPercentage() {
+        return percentage;
+    }
+
+    public void setPercentage(double percentage) {
+        this.percentage = percentage;
+    }
+
+    public Map<Long, Boolean> getResults() {
+        return results;
+    }
+
+    public void setResults(Map<Long, Boolean> results) {
+        this.results = results;
+    }
+}
@@ -4,7 +4,13 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "user_quiz_scores", uniqueConstraints = @UniqueConstraint(columnNames = {"quiz_id", "user_id"}))
+@Table(name = "user_quiz_scores",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"quiz_id", "user_id"}),
+        indexes = {
+                // Match the keyset order of the score pages
+                @Index(name = "idx_user_quiz_scores_quiz_rank", columnList = "quiz_id, correct_answers DESC, completion_date, id"),
+                @Index(name = "idx_user_quiz_scores_user_rank", columnList = "user_id, correct_answers DESC, completion_date, id")
+        })
 public class UserQuizScore {
 
     @Id
@@ -0,0 +1,47 @@
+package com.example.quiz_tournament_api.repositories;
+
+import com.example.quiz_tournament_api.models.QuizAttempt;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, Long> {
+
+    // Served by the unique (quiz_id, user_id) index
+    Optional<QuizAttempt> findByQuizIdAndUserId(Long quizId, Long userId);
+
+    // Same lookup, holding the row lock until commit so submissions of one attempt run one after the other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM QuizAttempt a WHERE a.quiz.id = :quizId AND a.user.id = :userId")
+    Optional<QuizAttempt> lockByQuizIdAndUserId(Long quizId, Long userId);
+
+    // Start an attempt unless the user has one, in one statement: a concurrent start is absorbed by the unique
+    // (quiz_id, user_id) constraint instead of failing, and an unknown user inserts nothing
+    @Modifying
+    @Query(value = "INSERT INTO quiz_attempts (quiz_id, user_id, correct_answers, answered_questions, total_questions, started_at) " +
+            "SELECT :quizId, u.id, 0, 0, :totalQuestions, :startedAt FROM users u WHERE u.id = :userId " +
+            "ON CONFLICT (quiz_id, user_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(Long quizId, Long userId, int totalQuestions, LocalDateTime startedAt);
+
+    // Add to the running totals atomically, so concurrent answers of one attempt never lose an update
+    @Modifying
+    @Query("UPDATE QuizAttempt a SET a.answeredQuestions = a.answeredQuestions + :answered, " +
+            "a.correctAnswers = a.correctAnswers + :correct WHERE a.id = :attemptId")
+    int addToTotals(Long attemptId, int answered, int correct);
+
+    // Mark an attempt completed; returns 0 if it already was
+    @Modifying
+    @Query("UPDATE QuizAttempt a SET a.completedAt = :completedAt WHERE a.id = :attemptId AND a.completedAt IS NULL")
+    int complete(Long attemptId, LocalDateTime completedAt);
+
+    @Modifying
+    @Query("DELETE FROM QuizAttempt a WHERE a.quiz.id = :quizId")
+    int deleteByQuizId(Long quizId);
+}
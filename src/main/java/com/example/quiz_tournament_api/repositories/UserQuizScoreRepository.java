@@ -1,9 +1,13 @@
 package com.example.quiz_tournament_api.repositories;
 
+import com.example.quiz_tournament_api.models.ScoreSummary;
 import com.example.quiz_tournament_api.models.UserQuizScore;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +18,41 @@ public interface UserQuizScoreRepository extends JpaRepository<UserQuizScore, Lo
     List<UserQuizScore> findByUserId(Long userId);
 
     Optional<UserQuizScore> findByQuizIdAndUserId(Long quizId, Long userId);
-}
 
+    // Score pages are ordered by correct answers (descending), then completion date and id; the "After" variants
+    // continue after the last row of the previous page (keyset), so every page costs the same whatever its depth
+
+    // Method to find the first page of a quiz's scores as summaries
+    @Query("SELECT new com.example.quiz_tournament_api.models.ScoreSummary(s.id, q.id, q.title, u.id, u.username, " +
+            "s.correctAnswers, s.totalQuestions, s.percentage, s.completionDate) " +
+            "FROM UserQuizScore s JOIN s.quiz q JOIN s.user u WHERE q.id = :quizId " +
+            "ORDER BY s.correctAnswers DESC, s.completionDate ASC, s.id ASC")
+    List<ScoreSummary> findQuizScoreSummaries(Long quizId, Pageable pageable);
+
+    // Method to find the next page of a quiz's scores as summaries
+    @Query("SELECT new com.example.quiz_tournament_api.models.ScoreSummary(s.id, q.id, q.title, u.id, u.username, " +
+            "s.correctAnswers, s.totalQuestions, s.percentage, s.completionDate) " +
+            "FROM UserQuizScore s JOIN s.quiz q JOIN s.user u WHERE q.id = :quizId " +
+            "AND (s.correctAnswers < :correctAnswers OR (s.correctAnswers = :correctAnswers " +
+            "AND (s.completionDate > :completionDate OR (s.completionDate = :completionDate AND s.id > :id)))) " +
+            "ORDER BY s.correctAnswers DESC, s.completionDate ASC, s.id ASC")
+    List<ScoreSummary> findQuizScoreSummariesAfter(Long quizId, int correctAnswers, LocalDateTime completionDate,
+                                                   Long id, Pageable pageable);
 
+    // Method to find the first page of a user's scores as summaries
+    @Query("SELECT new com.example.quiz_tournament_api.models.ScoreSummary(s.id, q.id, q.title, u.id, u.username, " +
+            "s.correctAnswers, s.totalQuestions, s.percentage, s.completionDate) " +
+            "FROM UserQuizScore s JOIN s.quiz q JOIN s.user u WHERE u.id = :userId " +
+            "ORDER BY s.correctAnswers DESC, s.completionDate ASC, s.id ASC")
+    List<ScoreSummary> findUserScoreSummaries(Long userId, Pageable pageable);
+
+    // Method to find the next page of a user's scores as summaries
+    @Query("SELECT new com.example.quiz_tournament_api.models.ScoreSummary(s.id, q.id, q.title, u.id, u.username, " +
+            "s.correctAnswers, s.totalQuestions, s.percentage, s.completionDate) " +
+            "FROM UserQuizScore s JOIN s.quiz q JOIN s.user u WHERE u.id = :userId " +
+            "AND (s.correctAnswers < :correctAnswers OR (s.correctAnswers = :correctAnswers " +
+            "AND (s.completionDate > :completionDate OR (s.completionDate = :completionDate AND s.id > :id)))) " +
+            "ORDER BY s.correctAnswers DESC, s.completionDate ASC, s.id ASC")
+    List<ScoreSummary> findUserScoreSummariesAfter(Long userId, int correctAnswers, LocalDateTime completionDate,
+                                                   Long id, Pageable pageable);
+}
@@ -0,0 +1,30 @@
+package com.example.quiz_tournament_api.services;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory side effects (caches, queues, rankings) until the surrounding transaction has committed, so a
+ * rolled-back transaction never leaves them behind.
+ */
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Runs the action after the current transaction commits, or right away when no transaction is active.
+     */
+    static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.quiz_tournament_api.services;
+
+import com.example.quiz_tournament_api.models.Question;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory answer keys, so answer validation never touches the database.
+ *
+ * Each quiz is stored as two flat arrays: sorted question ids and the index of the correct option per question.
+ * Answers are graded on the option index only; a free-text answer is first mapped to the index of the option it
+ * names with {@link #optionIndexOf(List, String)}, against the options of the loaded question.
+ */
+@Service
+public class AnswerKeyIndex {
+
+    static final int OPTION_SLOTS = 4; // Open Trivia "multiple" questions have 4 options, "boolean" ones 2
+
+    private final Map<Long, QuizAnswerKey> keys = new ConcurrentHashMap<>();
+
+    /**
+     * Builds (or rebuilds) the answer key of a quiz from its question set, using the option order served to players.
+     */
+    public QuizAnswerKey build(Long quizId, List<Question> questions) {
+        QuizAnswerKey key = QuizAnswerKey.of(questions);
+        keys.put(quizId, key);
+        return key;
+    }
+
+    /**
+     * @return the answer key of the quiz, or null if it has not been built.
+     */
+    public QuizAnswerKey get(Long quizId) {
+        return keys.get(quizId);
+    }
+
+    public void invalidate(Long quizId) {
+        keys.remove(quizId);
+    }
+
+    public Map<String, Object> getMetrics() {
+        long questions = 0;
+        long bytes = 0;
+        for (QuizAnswerKey key : keys.values()) {
+            questions += key.size();
+            bytes += key.estimatedBytes();
+        }
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("quizzes", keys.size());
+        metrics.put("questions", questions);
+        metrics.put("estimatedBytes", bytes);
+        return metrics;
+    }
+
+    /**
+     * Maps a submitted answer (case-insensitive) to its index in the served options of a question.
+     *
+     * @return the option index, or -1 if the answer is none of the options.
+     */
+    static int optionIndexOf(List<String> options, String answer) {
+        if (answer == null) {
+            return -1;
+        }
+        String normalized = normalize(answer);
+        for (int option = 0; option < options.size(); option++) {
+            if (normalized.equals(normalize(options.get(option)))) {
+                return option;
+            }
+        }
+        return -1;
+    }
+
+    static String normalize(String answer) {
+        return answer == null ? null : answer.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The answer key of one quiz.
+     */
+    public static final class QuizAnswerKey {
+        private final long[] questionIds;   // Sorted ascending
+        private final byte[] correctOptions; // Index into the served options of each question
+        private final boolean contiguous;   // Ids are firstId..firstId+n-1, so positions are computed, not searched
+
+        private QuizAnswerKey(long[] questionIds, byte[] correctOptions) {
+            this.questionIds = questionIds;
+            this.correctOptions = correctOptions;
+            this.contiguous = questionIds.length > 0
+                    && questionIds[questionIds.length - 1] - questionIds[0] == questionIds.length - 1;
+        }
+
+        static QuizAnswerKey of(List<Question> questions) {
+            List<Question> sorted = questions.stream().sorted(Comparator.comparing(Question::getId)).toList();
+            int size = sorted.size();
+            long[] ids = new long[size];
+            byte[] correct = new byte[size];
+            for (int position = 0; position < size; position++) {
+                Question question = sorted.get(position);
+                ids[position] = question.getId();
+                correct[position] = (byte) question.getOptions().indexOf(question.getCorrectAnswer());
+            }
+            return new QuizAnswerKey(ids, correct);
+        }
+
+        public int size() {
+            return questionIds.length;
+        }
+
+        /**
+         * @return the position of the question in this key, or -1 if it does not belong to the quiz.
+         */
+        public int positionOf(long questionId) {
+            if (contiguous) {
+                long offset = questionId - questionIds[0];
+                return offset >= 0 && offset < questionIds.length ? (int) offset : -1;
+            }
+            int position = Arrays.binarySearch(questionIds, questionId);
+            return position >= 0 ? position : -1;
+        }
+
+        public long questionId(int position) {
+            return questionIds[position];
+        }
+
+        public int correctOption(int position) {
+            return correctOptions[position];
+        }
+
+        /**
+         * Grades one answer by the option the player chose, see {@link QuestionService#chosenOption}.
+         *
+         * @param chosenOption the chosen option index, -1 if the answer is none of the options.
+         */
+        public boolean isCorrect(int position, int chosenOption) {
+            return chosenOption >= 0 && chosenOption == correctOptions[position];
+        }
+
+        long estimatedBytes() {
+            return 16L * 2 + (long) questionIds.length * Long.BYTES + correctOptions.length;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.quiz_tournament_api.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * In-memory copy of the category list of the configured {@link QuestionProvider}.
+ *
+ * The list is loaded once at startup and refreshed in the background every {@code open.trivia.category.ttl-ms};
+ * requests and quiz listings are served from memory. A failed refresh keeps the previous catalog.
+ */
+@Service
+public class CategoryCatalogService {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryCatalogService.class);
+
+    private final QuestionProvider questionProvider;
+    private final SingleFlight<String, Catalog> refreshes = new SingleFlight<>();
+    private volatile Catalog catalog;
+
+    @Autowired
+    public CategoryCatalogService(QuestionProvider questionProvider) {
+        this.questionProvider = questionProvider;
+    }
+
+    /**
+     * Returns the cached catalog, loading it first if it has never been loaded.
+     */
+    public CompletableFuture<Catalog> getCatalog() {
+        Catalog current = catalog;
+        return current != null ? CompletableFuture.completedFuture(current) : refresh();
+    }
+
+    /**
+     * Resolves a category code to its name without calling the provider.
+     *
+     * @return the category name, or null while the catalog is not loaded or the code is unknown.
+     */
+    public String getCategoryName(int categoryId) {
+        Catalog current = catalog;
+        return current != null ? current.namesById().get(categoryId) : null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        refresh();
+    }
+
+    @Scheduled(initialDelayString = "${open.trivia.category.ttl-ms:86400000}",
+            fixedDelayString = "${open.trivia.category.ttl-ms:86400000}")
+    public void refreshInBackground() {
+        refresh();
+    }
+
+    private CompletableFuture<Catalog> refresh() {
+        return refreshes.execute("categories", () -> questionProvider.fetchCategories()
+                .thenApply(fetched -> {
+                    List<Map<String, Object>> categories = List.copyOf(fetched);
+                    Map<Integer, String> namesById = new HashMap<>();
+                    for (Map<String, Object> category : categories) {
+                        namesById.put(((Number) category.get("id")).intValue(), (String) category.get("name"));
+                    }
+                    String etag = String.format("\"%08x\"", categories.hashCode());
+                    Catalog loaded = new Catalog(categories, Map.copyOf(namesById), etag, LocalDateTime.now());
+                    catalog = loaded;
+                    return loaded;
+                })
+                .whenComplete((loaded, error) -> {
+                    if (error != null) {
+                        log.warn("Refreshing the category catalog failed: {}", error.getMessage());
+                    }
+                }));
+    }
+
+    /**
+     * An immutable snapshot of the category list.
+     *
+     * @param categories the provider's category objects ({@code id}, {@code name}).
+     * @param namesById  category code to name.
+     * @param etag       strong validator of the category list, used for conditional GETs.
+     * @param loadedAt   when the snapshot was fetched.
+     */
+    public record Catalog(List<Map<String, Object>> categories, Map<Integer, String> namesById,
+                          String etag, LocalDateTime loadedAt) {
+
+        public boolean matches(String ifNoneMatch) {
+            return ifNoneMatch != null && (ifNoneMatch.trim().equals("*") || ifNoneMatch.contains(etag));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.quiz_tournament_api.services;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Consecutive-failure circuit breaker.
+ *
+ * CLOSED lets every call through and opens after {@code failureThreshold} consecutive failures. OPEN rejects calls
+ * until {@code openDuration} has elapsed, then lets a single probe through (HALF_OPEN); the probe's outcome closes
+ * or re-opens the breaker.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openDurationNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean probeInFlight;
+    private LocalDateTime lastTransitionAt = LocalDateTime.now();
+
+    // Metrics
+    private final Map<String, LongAdder> transitions = new ConcurrentHashMap<>();
+    private final LongAdder rejectedCalls = new LongAdder();
+
+    public CircuitBreaker(String name, int failureThreshold, long openDurationMillis) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(openDurationMillis);
+    }
+
+    /**
+     * Asks permission for one call. Every permitted call must be followed by {@link #onSuccess()} or
+     * {@link #onFailure()}.
+     *
+     * @return false if the call must fail fast.
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openedAtNanos >= openDurationNanos) {
+                    transitionTo(State.HALF_OPEN);
+                    probeInFlight = true;
+                    return true;
+                }
+                break;
+            case HALF_OPEN:
+                if (!probeInFlight) {
+                    probeInFlight = true;
+                    return true;
+                }
+                break;
+        }
+        rejectedCalls.increment();
+        return false;
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        if (state != State.CLOSED) {
+            transitionTo(State.CLOSED);
+        }
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        probeInFlight = false;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            openedAtNanos = System.nanoTime();
+            transitionTo(State.OPEN);
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * @return true while calls are being rejected (OPEN and still cooling down).
+     */
+    public synchronized boolean isOpen() {
+        return state == State.OPEN && System.nanoTime() - openedAtNanos < openDurationNanos;
+    }
+
+    public synchronized Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("name", name);
+        metrics.put("state", state);
+        metrics.put("consecutiveFailures", consecutiveFailures);
+        metrics.put("lastTransitionAt", lastTransitionAt);
+        metrics.put("rejectedCalls", rejectedCalls.sum());
+        Map<String, Long> transitionCounts = new LinkedHashMap<>();
+        transitions.forEach((transition, count) -> transitionCounts.put(transition, count.sum()));
+        metrics.put("transitions", transitionCounts);
+        return metrics;
+    }
+
+    private void transitionTo(State next) {
+        transitions.computeIfAbsent(state + "->" + next, key -> new LongAdder()).increment();
+        state = next;
+        lastTransitionAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.quiz_tournament_api.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the results of requests sent with an idempotency key, so a retried request gets the original result
+ * without running again.
+ *
+ * The first request for a key runs; a retry arriving while it is still running waits for it, and later retries
+ * are answered from memory until the key expires. A request that fails is forgotten, so its retry runs again.
+ * Keys are kept on this node only and up to a fixed number; beyond that, requests run without being remembered.
+ */
+@Service
+public class IdempotencyService {
+
+    private final long ttlMillis;
+    private final int maxKeys;
+    private final ConcurrentHashMap<String, Outcome> outcomes = new ConcurrentHashMap<>();
+
+    // Metrics
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder notRemembered = new LongAdder();
+
+    @Autowired
+    public IdempotencyService(@Value("${quiz.idempotency.ttl-ms:86400000}") long ttlMillis,
+                              @Value("${quiz.idempotency.max-keys:100000}") int maxKeys) {
+        this.ttlMillis = ttlMillis;
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * @param key identifies the request, including whatever scopes it (e.g. the user and the endpoint).
+     * @return the result of the first request with this key and whether it was replayed rather than executed.
+     */
+    public <V> Result<V> execute(String key, Supplier<V> action) {
+        Outcome outcome = new Outcome(System.currentTimeMillis() + ttlMillis);
+        Outcome existing = outcomes.size() < maxKeys ? outcomes.putIfAbsent(key, outcome) : outcomes.get(key);
+        if (existing != null && !existing.isExpired()) {
+            replayed.increment();
+            try {
+                @SuppressWarnings("unchecked")
+                V value = (V) existing.result.join();
+                return new Result<>(value, true);
+            } catch (CompletionException e) {
+                // The original request failed and is being forgotten: fail the same way
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        if (existing != null) {
+            outcomes.replace(key, existing, outcome); // Expired, not yet swept
+        } else if (outcomes.get(key) != outcome) {
+            notRemembered.increment(); // Full
+        }
+
+        executed.increment();
+        try {
+            V value = action.get();
+            outcome.result.complete(value);
+            return new Result<>(value, false);
+        } catch (RuntimeException e) {
+            outcomes.remove(key, outcome);
+            outcome.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${quiz.idempotency.sweep-interval-ms:60000}")
+    public void evictExpired() {
+        outcomes.values().removeIf(outcome -> outcome.result.isDone() && outcome.isExpired());
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("keys", outcomes.size());
+        metrics.put("maxKeys", maxKeys);
+        metrics.put("executed", executed.sum());
+        metrics.put("replayed", replayed.sum());
+        metrics.put("notRemembered", notRemembered.sum());
+        return metrics;
+    }
+
+    public record Result<V>(V value, boolean replayed) {}
+
+    private static final class Outcome {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private final long expiresAt;
+
+        private Outcome(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt;
+        }
+    }
+}
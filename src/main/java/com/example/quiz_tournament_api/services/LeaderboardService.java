@@ -0,0 +1,137 @@
+package com.example.quiz_tournament_api.services;
+
+import com.example.quiz_tournament_api.models.User;
+import com.example.quiz_tournament_api.repositories.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live per-quiz leaderboards, ranked by correct answers with the earlier completion winning ties.
+ *
+ * Each quiz has a {@link Leaderboard} (order-statistic tree) that is updated when a score commits, so top-K, a
+ * player's rank and the players around them are answered in O(log n) without touching {@code user_quiz_scores}.
+ * The boards are rebuilt at startup with a single streaming read of that table.
+ */
+@Service
+public class LeaderboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardService.class);
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final Map<Long, Leaderboard> boards = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LeaderboardService(JdbcTemplate jdbcTemplate, UserRepository userRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Adds a completed score to the quiz's leaderboard once the surrounding transaction commits.
+     */
+    public void recordScore(long quizId, long userId, int correctAnswers, LocalDateTime completionDate) {
+        long time = toEpochMillis(completionDate);
+        AfterCommit.run(() -> board(quizId).put(userId, correctAnswers, time));
+    }
+
+    public void dropQuiz(long quizId) {
+        AfterCommit.run(() -> boards.remove(quizId));
+    }
+
+    /**
+     * @return the first {@code limit} entries of the quiz's leaderboard.
+     */
+    public List<Map<String, Object>> getTop(long quizId, int limit) {
+        Leaderboard board = boards.get(quizId);
+        return board == null ? List.of() : describe(board.top(limit));
+    }
+
+    /**
+     * @return the user's rank and the entries within {@code radius} ranks of it, or null if the user has no score
+     *         for the quiz.
+     */
+    public Map<String, Object> getStanding(long quizId, long userId, int radius) {
+        Leaderboard board = boards.get(quizId);
+        Leaderboard.Entry entry = board == null ? null : board.entryOf(userId);
+        if (entry == null) {
+            return null;
+        }
+        Map<String, Object> standing = new LinkedHashMap<>();
+        standing.put("rank", entry.rank());
+        standing.put("participants", board.size());
+        standing.put("correctAnswers", entry.score());
+        standing.put("around", describe(board.around(userId, radius)));
+        return standing;
+    }
+
+    /**
+     * Rebuilds every board from {@code user_quiz_scores}. The rows are streamed with a cursor (fetch size inside a
+     * read-only transaction) rather than loaded as entities.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(ScoreWriteBehindService.LOAD_AFTER_RESTORE_ORDER)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.nanoTime();
+        int[] rows = new int[1];
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    "SELECT quiz_id, user_id, correct_answers, completion_date FROM user_quiz_scores",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            board(rs.getLong(1)).put(rs.getLong(2), rs.getInt(3), rs.getTimestamp(4).getTime());
+            rows[0]++;
+        });
+        log.info("Rebuilt {} quiz leaderboards from {} scores in {} ms", boards.size(), rows[0],
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private Leaderboard board(long quizId) {
+        return boards.computeIfAbsent(quizId, id -> new Leaderboard());
+    }
+
+    // Entries with the usernames of their players, resolved in one query
+    private List<Map<String, Object>> describe(List<Leaderboard.Entry> entries) {
+        Map<Long, String> usernames = new HashMap<>();
+        for (User user : userRepository.findAllById(entries.stream().map(Leaderboard.Entry::userId).toList())) {
+            usernames.put(user.getId(), user.getUsername());
+        }
+        return entries.stream().map(entry -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("rank", entry.rank());
+            row.put("userId", entry.userId());
+            row.put("username", usernames.get(entry.userId()));
+            row.put("correctAnswers", entry.score());
+            row.put("completionDate", LocalDateTime.ofInstant(Instant.ofEpochMilli(entry.time()), ZoneId.systemDefault()));
+            return row;
+        }).toList();
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.quiz_tournament_api.services;
+
+import com.example.quiz_tournament_api.models.Question;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link QuestionProvider} backed by the Open Trivia API (the default).
+ */
+@Service
+@ConditionalOnProperty(name = "quiz.question-provider", havingValue = "opentdb", matchIfMissing = true)
+public class OpenTriviaQuestionProvider implements QuestionProvider {
+
+    @Value("${open.trivia.api.url}")
+    private String apiUrl;
+
+    @Value("${open.trivia.category.url}")
+    private String categoryApiUrl;
+
+    private final TriviaClient triviaClient;
+    private final TriviaIngestService triviaIngestService;
+
+    @Autowired
+    public OpenTriviaQuestionProvider(TriviaClient triviaClient, TriviaIngestService triviaIngestService) {
+        this.triviaClient = triviaClient;
+        this.triviaIngestService = triviaIngestService;
+    }
+
+    @Override
+    public String getName() {
+        return "opentdb";
+    }
+
+    @Override
+    public CompletableFuture<List<Question>> fetchQuestions(int category, String difficulty, int amount) {
+        String url = apiUrl + "?amount=" + amount +
+                "&category=" + category +
+                "&difficulty=" + difficulty +
+                "&type=multiple";
+
+        // The body is parsed while it streams in; it is never held as a String. A malformed body is rethrown
+        // unchecked so it is not taken for an I/O failure (which would count against the provider and be retried).
+        return triviaClient.stream(url, response -> {
+                    try {
+                        return triviaIngestService.parse(response.getBody());
+                    } catch (JsonProcessingException e) {
+                        throw new IllegalStateException("Malformed Open Trivia API response: " + e.getOriginalMessage(), e);
+                    }
+                })
+                .thenApply(parsed -> {
+                    if (parsed.responseCode() != 0 || parsed.questions().isEmpty()) {
+                        throw new RuntimeException("Open Trivia API returned no questions (response code "
+                                + parsed.responseCode() + ")");
+                    }
+                    return parsed.questions();
+                });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<List<Map<String, Object>>> fetchCategories() {
+        return triviaClient.get(categoryApiUrl, Map.class)
+                .thenApply(body -> (List<Map<String, Object>>) body.get("trivia_categories"));
+    }
+}
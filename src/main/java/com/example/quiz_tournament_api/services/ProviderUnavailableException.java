@@ -0,0 +1,16 @@
+package com.example.quiz_tournament_api.services;
+
+/**
+ * The question provider could not be reached: its circuit breaker is open, the request timed out or failed on I/O,
+ * or the provider answered with a server error. Unlike a rejected request, retrying later can succeed.
+ */
+public class ProviderUnavailableException extends RuntimeException {
+
+    public ProviderUnavailableException(String message) {
+        super(message);
+    }
+
+    public ProviderUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.quiz_tournament_api.services;
+
+import com.example.quiz_tournament_api.models.PrefetchStatus;
+import com.example.quiz_tournament_api.models.Quiz;
+import com.example.quiz_tournament_api.repositories.QuizRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Fetches and stores question sets ahead of time so the first player of a quiz does not pay the provider latency.
+ *
+ * Quizzes are picked up when they are created or their question selection changes, and by a periodic scan
+ * for quizzes starting within the look-ahead window that are not {@link PrefetchStatus#READY} yet.
+ */
+@Service
+public class QuestionPrefetchService {
+
+    private static final Logger log = LoggerFactory.getLogger(QuestionPrefetchService.class);
+
+    @Value("${quiz.prefetch.lookahead-hours:24}")
+    private long lookaheadHours;
+
+    private final QuizRepository quizRepository;
+    private final QuestionService questionService;
+    private final TriviaClient triviaClient;
+
+    // A single worker: the provider only allows one request at a time anyway
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "question-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Set<Long> queuedQuizIds = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public QuestionPrefetchService(QuizRepository quizRepository,
+                                   QuestionService questionService,
+                                   TriviaClient triviaClient) {
+        this.quizRepository = quizRepository;
+        this.questionService = questionService;
+        this.triviaClient = triviaClient;
+    }
+
+    /**
+     * Queues a prefetch for the quiz. When called inside a transaction the prefetch starts after the commit,
+     * so the worker sees the saved quiz.
+     */
+    public void requestPrefetch(Long quizId) {
+        AfterCommit.run(() -> enqueue(quizId));
+    }
+
+    @Scheduled(fixedDelayString = "${quiz.prefetch.scan-interval-ms:60000}")
+    public void prefetchUpcomingQuizzes() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> quizIds = quizRepository.findQuizIdsToPrefetch(now, now.plusHours(lookaheadHours),
+                PrefetchStatus.READY, PrefetchStatus.STALE);
+        quizIds.forEach(this::enqueue);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void enqueue(Long quizId) {
+        if (queuedQuizIds.add(quizId)) {
+            executor.execute(() -> {
+                try {
+                    prefetch(quizId);
+                } finally {
+                    queuedQuizIds.remove(quizId);
+                }
+            });
+        }
+    }
+
+    private void prefetch(Long quizId) {
+        Optional<Quiz> quiz = quizRepository.findById(quizId);
+        if (quiz.isEmpty()) {
+            return; // Deleted while queued
+        }
+
+        if (quiz.get().getPrefetchStatus() == PrefetchStatus.STALE) {
+            // Replace the fallback set only before anyone could have played it, and only once the provider is back
+            if (!quiz.get().getStartDate().isAfter(LocalDateTime.now()) || !triviaClient.isAvailable()) {
+                return;
+            }
+            questionService.deleteQuestionsForQuiz(quizId);
+        }
+
+        quizRepository.updatePrefetchStatus(quizId, PrefetchStatus.IN_PROGRESS, null);
+        try {
+            questionService.getQuestionsForQuiz(quiz.get()).join(); // Waiting is fine on the prefetch worker
+            PrefetchStatus status = questionService.isStale(quizId) ? PrefetchStatus.STALE : PrefetchStatus.READY;
+            quizRepository.updatePrefetchStatus(quizId, status, LocalDateTime.now());
+        } catch (RuntimeException e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            log.warn("Prefetching questions for quiz {} failed: {}", quizId, cause.getMessage());
+            quizRepository.updatePrefetchStatus(quizId, PrefetchStatus.FAILED, null);
+        }
+    }
+}
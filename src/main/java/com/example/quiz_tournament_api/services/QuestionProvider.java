@@ -0,0 +1,43 @@
+package com.example.quiz_tournament_api.services;
+
+import com.example.quiz_tournament_api.models.Question;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Source of trivia questions. The active implementation is selected with {@code quiz.question-provider}.
+ */
+public interface QuestionProvider {
+
+    /**
+     * @return the provider name, as used in {@code quiz.question-provider}.
+     */
+    String getName();
+
+    /**
+     * Fetches a new question set. The returned questions are not attached to a quiz yet.
+     *
+     * @param category   the Open Trivia category code.
+     * @param difficulty easy, medium or hard.
+     * @param amount     the number of questions wanted.
+     * @return a future of the questions; it completes exceptionally if none are available.
+     */
+    CompletableFuture<List<Question>> fetchQuestions(int category, String difficulty, int amount);
+
+    /**
+     * Fetches a new question set for a quiz. Providers that pick the questions themselves select them
+     * deterministically from the quiz id, so the same quiz gets the same set on every fetch; the others ignore it.
+     *
+     * @param quizId the quiz the questions are for.
+     */
+    default CompletableFuture<List<Question>> fetchQuestions(long quizId, int category, String difficulty, int amount) {
+        return fetchQuestions(category, difficulty, amount);
+    }
+
+    /**
+     * Lists the categories this provider can serve, as {@code id}/{@code name} objects.
+     */
+    CompletableFuture<List<Map<String, Object>>> fetchCategories();
+}
@@ -0,0 +1,272 @@
+package com.example.quiz_tournament_api.services;
+
+import com.example.quiz_tournament_api.models.AnswerRequest;
+import com.example.quiz_tournament_api.models.PrefetchStatus;
+import com.example.quiz_tournament_api.models.Question;
+import com.example.quiz_tournament_api.models.Quiz;
+import com.example.quiz_tournament_api.repositories.QuestionRepository;
+import com.example.quiz_tournament_api.repositories.QuizRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Materializes the question set of a quiz.
+ *
+ * The configured {@link QuestionProvider} is called once per quiz; the questions are stored as {@link Question}
+ * rows and every later play is served from memory (or from the database after a restart).
+ */
+@Service
+public class QuestionService {
+
+    private final QuestionProvider questionProvider;
+    private final QuestionRepository questionRepository;
+    private final QuizRepository quizRepository;
+    private final AnswerKeyIndex answerKeyIndex;
+
+    // quizId -> immutable question set served to every player of that quiz
+    private final Map<Long, List<Question>> questionCache = new ConcurrentHashMap<>();
+    private final SingleFlight<QuestionSetKey, List<Question>> questionFetches = new SingleFlight<>();
+
+    // "category:difficulty" -> last set the provider returned (as stored), served while the provider is unavailable
+    private final Map<String, List<Question>> lastGoodSets = new ConcurrentHashMap<>();
+    private final Set<Long> staleQuizIds = ConcurrentHashMap.newKeySet();
+    private final LongAdder memoryFallbackHits = new LongAdder();
+    private final LongAdder databaseFallbackHits = new LongAdder();
+    private final LongAdder fallbackMisses = new LongAdder();
+
+    @Autowired
+    public QuestionService(QuestionProvider questionProvider,
+                           QuestionRepository questionRepository,
+                           QuizRepository quizRepository,
+                           AnswerKeyIndex answerKeyIndex) {
+        this.questionProvider = questionProvider;
+        this.questionRepository = questionRepository;
+        this.quizRepository = quizRepository;
+        this.answerKeyIndex = answerKeyIndex;
+    }
+
+    /**
+     * Returns the question set of a quiz, fetching and storing it on first use.
+     *
+     * @param quiz the quiz being played.
+     * @return a future of the same list of questions for every player of the quiz.
+     */
+    public CompletableFuture<List<Question>> getQuestionsForQuiz(Quiz quiz) {
+        List<Question> cached = questionCache.get(quiz.getId());
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        // Players opening the quiz at the same moment all wait on a single load
+        QuestionSetKey key = new QuestionSetKey(quiz.getId(), quiz.getCategory(), quiz.getDifficulty(), quiz.getQuestionCount());
+        return questionFetches.execute(key, () -> loadQuestions(quiz));
+    }
+
+    public Map<String, Object> getFetchCoalescingMetrics() {
+        return questionFetches.getMetrics();
+    }
+
+    /**
+     * @return true if the quiz is being served a fallback set because the provider was unavailable.
+     */
+    public boolean isStale(Long quizId) {
+        return staleQuizIds.contains(quizId);
+    }
+
+    public Map<String, Object> getFallbackMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("memoryHits", memoryFallbackHits.sum());
+        metrics.put("databaseHits", databaseFallbackHits.sum());
+        metrics.put("misses", fallbackMisses.sum());
+        metrics.put("staleQuizzes", staleQuizIds.size());
+        metrics.put("cachedSelections", lastGoodSets.size());
+        return metrics;
+    }
+
+    /**
+     * Drops the cached question set of a quiz. The stored rows are kept.
+     */
+    public void evictQuestions(Long quizId) {
+        questionCache.remove(quizId);
+        answerKeyIndex.invalidate(quizId);
+    }
+
+    /**
+     * Returns the question set of a quiz if it is cached or stored, without ever calling the provider.
+     *
+     * @return the set, or empty if the quiz has not been loaded yet.
+     */
+    public Optional<List<Question>> findLoadedQuestions(Long quizId) {
+        List<Question> cached = questionCache.get(quizId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        List<Question> stored = questionRepository.findByQuizIdWithAnswers(quizId);
+        return stored.isEmpty() ? Optional.empty() : Optional.of(cacheQuestions(quizId, stored));
+    }
+
+    /**
+     * Looks a question up in the in-memory question set of its quiz, without touching the database.
+     */
+    public Optional<Question> findCachedQuestion(Long quizId, Long questionId) {
+        List<Question> questions = questionCache.getOrDefault(quizId, List.of());
+        return questions.stream().filter(question -> question.getId().equals(questionId)).findFirst();
+    }
+
+    /**
+     * Resolves the option a player chose, in the served option order; {@code selectedOption} wins over
+     * {@code submittedAnswer} when both are given. A free-text answer is matched against the options of the loaded
+     * question, so answer keys only keep the index of the correct option.
+     *
+     * @return the option index, or -1 if the answer is none of the options.
+     */
+    public int chosenOption(Long quizId, AnswerRequest answer) {
+        Integer selectedOption = answer.getSelectedOption();
+        if (selectedOption != null) {
+            return selectedOption >= 0 && selectedOption < AnswerKeyIndex.OPTION_SLOTS ? selectedOption : -1;
+        }
+        if (answer.getSubmittedAnswer() == null) {
+            return -1;
+        }
+        return findLoadedQuestions(quizId).orElse(List.of()).stream()
+                .filter(question -> question.getId().equals(answer.getQuestionId()))
+                .findFirst()
+                .map(question -> AnswerKeyIndex.optionIndexOf(question.getOptions(), answer.getSubmittedAnswer()))
+                .orElse(-1);
+    }
+
+    /**
+     * Deletes the stored question set of a quiz so that the next play fetches a fresh one.
+     */
+    @Transactional
+    public void deleteQuestionsForQuiz(Long quizId) {
+        questionRepository.deleteByQuizId(quizId);
+        // Only dropped once the delete commits, so a rolled-back quiz update or delete keeps its set and answer key
+        AfterCommit.run(() -> {
+            questionCache.remove(quizId);
+            answerKeyIndex.invalidate(quizId);
+            staleQuizIds.remove(quizId);
+        });
+    }
+
+    private CompletableFuture<List<Question>> loadQuestions(Quiz quiz) {
+        List<Question> cached = questionCache.get(quiz.getId());
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached); // Cached by a load that finished just before this one started
+        }
+
+        List<Question> stored = questionRepository.findByQuizIdWithAnswers(quiz.getId());
+        if (!stored.isEmpty()) {
+            return CompletableFuture.completedFuture(cacheQuestions(quiz.getId(), stored));
+        }
+        return materializeQuestions(quiz).thenApply(questions -> cacheQuestions(quiz.getId(), questions));
+    }
+
+    private CompletableFuture<List<Question>> materializeQuestions(Quiz quiz) {
+        String selection = quiz.getCategory() + ":" + quiz.getDifficulty();
+        return questionProvider
+                .fetchQuestions(quiz.getId(), quiz.getCategory(), quiz.getDifficulty(), quiz.getQuestionCount())
+                .thenApply(questions -> {
+                    // Runs on the client's callback thread, never on its rate-limited dispatcher
+                    List<Question> fresh = withoutStoredQuestions(quiz, questions);
+                    fresh.forEach(question -> question.setQuiz(quiz));
+                    List<Question> saved = List.copyOf(questionRepository.saveAll(fresh));
+                    lastGoodSets.put(selection, saved);
+                    staleQuizIds.remove(quiz.getId());
+                    return saved;
+                })
+                .exceptionally(error -> fallbackQuestions(quiz, selection, error));
+    }
+
+    // Drops questions the quiz already has stored (e.g. saved by another node), which its unique
+    // (quiz_id, content_hash) constraint would reject; one indexed query per materialized set
+    private List<Question> withoutStoredQuestions(Quiz quiz, List<Question> questions) {
+        Set<String> stored = new HashSet<>(questionRepository.findContentHashesByQuizId(quiz.getId()));
+        if (stored.isEmpty()) {
+            return questions;
+        }
+        return questions.stream().filter(question -> !stored.contains(question.getContentHash())).toList();
+    }
+
+    /**
+     * Serves the last good question set of the same category and difficulty while the provider is unavailable
+     * (breaker open, timeout or server error; any other failure is passed on): first the in-memory set, then
+     * questions stored for other quizzes. The set is only cached for this quiz, never stored as its own, and the
+     * quiz is marked STALE so the prefetch scan fetches its real set once the provider recovers, as long as the
+     * quiz has not started.
+     */
+    private List<Question> fallbackQuestions(Quiz quiz, String selection, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (!(cause instanceof ProviderUnavailableException)) {
+            throw cause instanceof RuntimeException runtimeException ? runtimeException : new RuntimeException(cause);
+        }
+
+        List<Question> source = lastGoodSets.get(selection);
+        LongAdder hits = memoryFallbackHits;
+        if (source == null) {
+            List<Long> ids = questionRepository.findRecentIdsForSelection(quiz.getCategory(), quiz.getDifficulty(),
+                    quiz.getId(), PageRequest.of(0, quiz.getQuestionCount() * 2));
+            source = ids.isEmpty() ? List.of() : questionRepository.findAllWithAnswersByIdIn(ids);
+            hits = databaseFallbackHits;
+        }
+
+        if (source.isEmpty()) {
+            fallbackMisses.increment();
+            throw (ProviderUnavailableException) cause;
+        }
+
+        hits.increment();
+        staleQuizIds.add(quiz.getId());
+        quizRepository.updatePrefetchStatus(quiz.getId(), PrefetchStatus.STALE, LocalDateTime.now());
+        return distinctQuestions(source, quiz.getQuestionCount());
+    }
+
+    // The stored questions themselves (they keep their ids, which answers refer to), de-duplicated by content
+    private static List<Question> distinctQuestions(List<Question> source, int limit) {
+        Set<String> seen = new HashSet<>();
+        List<Question> distinct = new ArrayList<>();
+        for (Question question : source) {
+            String hash = question.getContentHash() != null
+                    ? question.getContentHash()
+                    : TriviaIngestService.contentHash(question.getText(), question.getCorrectAnswer());
+            if (distinct.size() == limit) {
+                break;
+            }
+            if (seen.add(hash)) {
+                distinct.add(question);
+            }
+        }
+        return distinct;
+    }
+
+    private List<Question> cacheQuestions(Long quizId, List<Question> questions) {
+        // Shuffle the options once so every player sees the same order and the cached entities are never mutated later
+        questions.forEach(Question::getOptions);
+        List<Question> immutable = List.copyOf(questions);
+        List<Question> previous = questionCache.putIfAbsent(quizId, immutable);
+        if (previous != null) {
+            return previous;
+        }
+        answerKeyIndex.build(quizId, immutable);
+        return immutable;
+    }
+
+    // Identifies an identical question selection; a changed quiz never joins a load started for its old selection
+    private record QuestionSetKey(Long quizId, int category, String difficulty, int questionCount) {
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.quiz_tournament_api.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The quiz catalog: filtered, sorted pages of quiz projections read with keyset pagination.
+ *
+ * Each page continues from the (sort column, id) of the previous page's last quiz, so a page costs the same at any
+ * depth. Every sort has matching (sort column, id) and (category, sort column, id) indexes, and start date one per
+ * creator too (see {@link com.example.quiz_tournament_api.models.Quiz}); the other filters narrow the index walk.
+ * Pages are ordered by the stored like counts; the counts shown include reactions not yet flushed to the quiz rows.
+ */
+@Service
+public class QuizCatalogService {
+
+    private static final String CATALOG_QUERY =
+            "SELECT q.id, q.title, q.category, q.difficulty, q.start_date, q.end_date, q.created_by, " +
+            "q.likes, q.dislikes, q.popularity, " +
+            "CASE WHEN q.start_date > :now THEN 'UPCOMING' WHEN q.end_date < :now THEN 'PAST' ELSE 'ACTIVE' END AS status " +
+            "FROM quiz q WHERE 1 = 1 ";
+
+    private enum Sort {
+        START_DATE("startDate", "start_date"),
+        LIKES("likes", "likes"),
+        POPULARITY("popularity", "popularity");
+
+        private final String name;
+        private final String column;
+
+        Sort(String name, String column) {
+            this.name = name;
+            this.column = column;
+        }
+
+        private static Sort parse(String name) {
+            for (Sort sort : values()) {
+                if (sort.name.equalsIgnoreCase(name)) {
+                    return sort;
+                }
+            }
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Unknown sort: " + name + ". Use startDate, likes or popularity.");
+        }
+
+        private String keyOf(ResultSet rs) throws SQLException {
+            return this == START_DATE ? rs.getTimestamp(column).toLocalDateTime().toString()
+                    : String.valueOf(rs.getInt(column));
+        }
+
+        private Object parseKey(String key) {
+            return this == START_DATE ? Timestamp.valueOf(LocalDateTime.parse(key)) : Integer.parseInt(key);
+        }
+    }
+
+    // A quiz as returned, with its sort key for the next page's cursor
+    private record Row(Map<String, Object> quiz, String key, long id) {}
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ReactionCounterService reactionCounterService;
+    private final CategoryCatalogService categoryCatalogService;
+
+    @Autowired
+    public QuizCatalogService(NamedParameterJdbcTemplate jdbcTemplate, ReactionCounterService reactionCounterService,
+                              CategoryCatalogService categoryCatalogService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reactionCounterService = reactionCounterService;
+        this.categoryCatalogService = categoryCatalogService;
+    }
+
+    /**
+     * @param status    ACTIVE, UPCOMING or PAST, or null for all.
+     * @param sort      startDate, likes or popularity (likes minus dislikes).
+     * @param ascending false for the highest values (latest start) first.
+     * @param cursor    the previous page's nextCursor, or null for the first page.
+     * @return the page's items and the cursor of the next page (null on the last page).
+     */
+    public Map<String, Object> getPage(Integer category, String difficulty, String status, String createdBy,
+                                       String sort, boolean ascending, String cursor, int limit) {
+        Sort order = Sort.parse(sort);
+        MapSqlParameterSource params = new MapSqlParameterSource("now", Timestamp.valueOf(LocalDateTime.now()))
+                .addValue("limit", limit + 1); // One extra row tells whether there is a next page
+        StringBuilder sql = new StringBuilder(CATALOG_QUERY);
+        if (category != null) {
+            sql.append("AND q.category = :category ");
+            params.addValue("category", category);
+        }
+        if (difficulty != null && !difficulty.isBlank()) {
+            sql.append("AND q.difficulty = :difficulty ");
+            params.addValue("difficulty", difficulty);
+        }
+        if (createdBy != null && !createdBy.isBlank()) {
+            sql.append("AND q.created_by = :createdBy ");
+            params.addValue("createdBy", createdBy);
+        }
+        if (status != null && !status.isBlank()) {
+            sql.append(switch (status.toUpperCase(Locale.ROOT)) {
+                case "ACTIVE" -> "AND q.start_date <= :now AND q.end_date >= :now ";
+                case "UPCOMING" -> "AND q.start_date > :now ";
+                case "PAST" -> "AND q.end_date < :now ";
+                default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown quiz status: " + status);
+            });
+        }
+        String direction = ascending ? "ASC" : "DESC";
+        if (cursor != null && !cursor.isBlank()) {
+            CatalogCursor after = CatalogCursor.decode(cursor);
+            if (!after.sort().equals(order.name)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The page cursor belongs to another sort.");
+            }
+            try {
+                params.addValue("afterKey", order.parseKey(after.key())).addValue("afterId", after.id());
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid page cursor.");
+            }
+            // A row comparison, so the index range starts right after the cursor
+            sql.append("AND (q.").append(order.column).append(", q.id) ").append(ascending ? ">" : "<")
+                    .append(" (:afterKey, :afterId) ");
+        }
+        sql.append("ORDER BY q.").append(order.column).append(' ').append(direction)
+                .append(", q.id ").append(direction).append(" LIMIT :limit");
+
+        List<Row> rows = jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> {
+            long quizId = rs.getLong("id");
+            int[] pending = reactionCounterService.pendingDeltas(quizId);
+            Map<String, Object> quiz = new LinkedHashMap<>();
+            quiz.put("id", quizId);
+            quiz.put("title", rs.getString("title"));
+            quiz.put("category", rs.getInt("category"));
+            quiz.put("categoryName", categoryCatalogService.getCategoryName(rs.getInt("category")));
+            quiz.put("difficulty", rs.getString("difficulty"));
+            quiz.put("startDate", rs.getTimestamp("start_date").toLocalDateTime());
+            quiz.put("endDate", rs.getTimestamp("end_date").toLocalDateTime());
+            quiz.put("createdBy", rs.getString("created_by"));
+            quiz.put("status", rs.getString("status"));
+            quiz.put("likes", Math.max(rs.getInt("likes") + pending[0], 0));
+            quiz.put("dislikes", Math.max(rs.getInt("dislikes") + pending[1], 0));
+            return new Row(quiz, order.keyOf(rs), quizId);
+        });
+
+        boolean hasMore = rows.size() > limit;
+        List<Row> page = hasMore ? rows.subList(0, limit) : rows;
+        Row last = page.isEmpty() ? null : page.get(page.size() - 1);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("items", page.stream().map(Row::quiz).toList());
+        result.put("nextCursor", hasMore ? new CatalogCursor(order.name, last.key(), last.id()).encode() : null);
+        return result;
+    }
+}
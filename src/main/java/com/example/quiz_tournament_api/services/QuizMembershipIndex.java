@@ -0,0 +1,280 @@
+package com.example.quiz_tournament_api.services;
+
+import com.example.quiz_tournament_api.models.Reaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Who liked, disliked and completed each quiz, as three {@link UserIdBitmap}s per quiz, so "has this user
+ * reacted/completed" is answered from memory.
+ *
+ * A quiz's bitmaps are loaded from {@code user_likes} and the completed attempts/scores the first time the quiz is
+ * asked about, and are then kept current by the writers: reactions and completions are applied after they commit.
+ * The load queries run without holding the quiz's lock; a write that commits meanwhile is buffered and replayed on
+ * top of what the load read, so the bitmaps never miss a committed change. Ids outside the bitmap range are answered
+ * by the database.
+ *
+ * Quizzes that ended more than {@code quiz.membership.retain-after-end-ms} ago, or no longer exist, are evicted by a
+ * periodic sweep, so memory follows the quizzes still being played rather than every quiz ever asked about; an
+ * evicted quiz is loaded again if it is asked about.
+ */
+@Service
+public class QuizMembershipIndex {
+
+    private static final int SWEEP_BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final long retainAfterEndMillis;
+    private final Map<Long, Members> membersByQuiz = new ConcurrentHashMap<>();
+
+    // Metrics
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder databaseFallbacks = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public QuizMembershipIndex(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                               @Value("${quiz.membership.retain-after-end-ms:86400000}") long retainAfterEndMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.retainAfterEndMillis = retainAfterEndMillis;
+    }
+
+    /**
+     * @return the user's reaction to the quiz, {@link Reaction#CLEAR} if none.
+     */
+    public Reaction reactionOf(long quizId, long userId) {
+        if (!UserIdBitmap.isIndexable(userId)) {
+            databaseFallbacks.increment();
+            return jdbcTemplate.queryForList("SELECT liked FROM user_likes WHERE quiz_id = ? AND user_id = ?",
+                            Boolean.class, quizId, userId).stream()
+                    .map(liked -> liked ? Reaction.LIKE : Reaction.DISLIKE).findFirst().orElse(Reaction.CLEAR);
+        }
+        Members members = loaded(quizId);
+        synchronized (members) {
+            return members.likers.contains(userId) ? Reaction.LIKE
+                    : members.dislikers.contains(userId) ? Reaction.DISLIKE : Reaction.CLEAR;
+        }
+    }
+
+    public boolean hasCompleted(long quizId, long userId) {
+        if (!UserIdBitmap.isIndexable(userId)) {
+            databaseFallbacks.increment();
+            return !jdbcTemplate.queryForList(
+                    "SELECT 1 FROM quiz_attempts WHERE quiz_id = ? AND user_id = ? AND completed_at IS NOT NULL " +
+                    "UNION ALL SELECT 1 FROM user_quiz_scores WHERE quiz_id = ? AND user_id = ?",
+                    Integer.class, quizId, userId, quizId, userId).isEmpty();
+        }
+        Members members = loaded(quizId);
+        synchronized (members) {
+            return members.completers.contains(userId);
+        }
+    }
+
+    /**
+     * Records the user's new reaction once the surrounding transaction commits.
+     */
+    public void recordReaction(long quizId, long userId, Reaction reaction) {
+        AfterCommit.run(() -> update(quizId, userId, members -> {
+            if (reaction == Reaction.LIKE) {
+                members.likers.add(userId);
+            } else {
+                members.likers.remove(userId);
+            }
+            if (reaction == Reaction.DISLIKE) {
+                members.dislikers.add(userId);
+            } else {
+                members.dislikers.remove(userId);
+            }
+        }));
+    }
+
+    /**
+     * Records a completed attempt once the surrounding transaction commits.
+     */
+    public void recordCompletion(long quizId, long userId) {
+        AfterCommit.run(() -> update(quizId, userId, members -> members.completers.add(userId)));
+    }
+
+    public void dropQuiz(long quizId) {
+        AfterCommit.run(() -> membersByQuiz.remove(quizId));
+    }
+
+    /**
+     * Evicts the quizzes that ended before the retention window or were deleted on another node.
+     */
+    @Scheduled(fixedDelayString = "${quiz.membership.sweep-interval-ms:600000}")
+    public void evictEndedQuizzes() {
+        List<Long> quizIds = new ArrayList<>(membersByQuiz.keySet());
+        Timestamp cutoff = new Timestamp(System.currentTimeMillis() - retainAfterEndMillis);
+        for (int from = 0; from < quizIds.size(); from += SWEEP_BATCH_SIZE) {
+            List<Long> batch = quizIds.subList(from, Math.min(from + SWEEP_BATCH_SIZE, quizIds.size()));
+            Set<Long> retained = new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                    "SELECT id FROM quiz WHERE id IN (:quizIds) AND end_date >= :cutoff",
+                    new MapSqlParameterSource("quizIds", batch).addValue("cutoff", cutoff), Long.class));
+            for (Long quizId : batch) {
+                if (!retained.contains(quizId) && membersByQuiz.remove(quizId) != null) {
+                    evictions.increment();
+                }
+            }
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        long bytes = 0;
+        long ids = 0;
+        for (Members members : membersByQuiz.values()) {
+            synchronized (members) {
+                bytes += members.sizeInBytes();
+                ids += members.likers.cardinality() + members.dislikers.cardinality() + members.completers.cardinality();
+            }
+        }
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("quizzes", membersByQuiz.size());
+        metrics.put("ids", ids);
+        metrics.put("bytes", bytes);
+        metrics.put("lookups", lookups.sum());
+        metrics.put("loads", loads.sum());
+        metrics.put("databaseFallbacks", databaseFallbacks.sum());
+        metrics.put("evictions", evictions.sum());
+        return metrics;
+    }
+
+    /**
+     * @return likers, dislikers and completers of the quiz with the memory their bitmaps use, loading them if needed.
+     */
+    public Map<String, Object> describe(long quizId) {
+        Members members = loaded(quizId);
+        Map<String, Object> description = new LinkedHashMap<>();
+        synchronized (members) {
+            description.put("quizId", quizId);
+            description.put("likers", members.likers.cardinality());
+            description.put("dislikers", members.dislikers.cardinality());
+            description.put("completers", members.completers.cardinality());
+            description.put("bytes", members.sizeInBytes());
+        }
+        return description;
+    }
+
+    // Updates only quizzes that are in memory; a quiz loaded later reads the committed change from the database
+    private void update(long quizId, long userId, Consumer<Members> change) {
+        Members members = membersByQuiz.get(quizId);
+        if (members == null || !UserIdBitmap.isIndexable(userId)) {
+            return;
+        }
+        synchronized (members) {
+            if (members.loaded) {
+                change.accept(members);
+            } else if (members.loading != null) {
+                members.pending.add(change); // The running load may have read the rows before this commit
+            }
+        }
+    }
+
+    private Members loaded(long quizId) {
+        lookups.increment();
+        Members members = membersByQuiz.computeIfAbsent(quizId, id -> new Members());
+        if (members.loaded) {
+            return members;
+        }
+
+        CompletableFuture<Void> loading;
+        boolean loader = false;
+        synchronized (members) {
+            if (members.loaded) {
+                return members;
+            }
+            if (members.loading == null) {
+                members.loading = new CompletableFuture<>();
+                loader = true;
+            }
+            loading = members.loading;
+        }
+
+        if (!loader) {
+            // Readers of this quiz wait for the load without holding its lock, so writers are not blocked
+            try {
+                loading.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+            return members;
+        }
+
+        Members read = new Members();
+        try {
+            load(quizId, read);
+        } catch (RuntimeException e) {
+            synchronized (members) {
+                // The buffered changes are committed, so the next load reads them
+                members.pending.clear();
+                members.loading = null;
+            }
+            loading.completeExceptionally(e);
+            throw e;
+        }
+        synchronized (members) {
+            members.likers = read.likers;
+            members.dislikers = read.dislikers;
+            members.completers = read.completers;
+            members.pending.forEach(change -> change.accept(members));
+            members.pending.clear();
+            members.loaded = true;
+            members.loading = null;
+        }
+        loading.complete(null);
+        return members;
+    }
+
+    private void load(long quizId, Members members) {
+        loads.increment();
+        jdbcTemplate.query("SELECT user_id, liked FROM user_likes WHERE quiz_id = ?", (RowCallbackHandler) rs -> {
+            long userId = rs.getLong(1);
+            if (UserIdBitmap.isIndexable(userId)) {
+                (rs.getBoolean(2) ? members.likers : members.dislikers).add(userId);
+            }
+        }, quizId);
+        // Scores are written behind, so completed attempts count too
+        jdbcTemplate.query("SELECT user_id FROM quiz_attempts WHERE quiz_id = ? AND completed_at IS NOT NULL " +
+                "UNION SELECT user_id FROM user_quiz_scores WHERE quiz_id = ?", (RowCallbackHandler) rs -> {
+            long userId = rs.getLong(1);
+            if (UserIdBitmap.isIndexable(userId)) {
+                members.completers.add(userId);
+            }
+        }, quizId, quizId);
+    }
+
+    private static final class Members {
+        private UserIdBitmap likers = new UserIdBitmap();
+        private UserIdBitmap dislikers = new UserIdBitmap();
+        private UserIdBitmap completers = new UserIdBitmap();
+        private volatile boolean loaded;
+        private CompletableFuture<Void> loading;                         // Set while a load runs
+        private final List<Consumer<Members>> pending = new ArrayList<>(); // Changes committed during that load
+
+        private long sizeInBytes() {
+            return likers.sizeInBytes() + dislikers.sizeInBytes() + completers.sizeInBytes();
+        }
+    }
+}
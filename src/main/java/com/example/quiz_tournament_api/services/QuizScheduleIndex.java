@@ -0,0 +1,223 @@
+package com.example.quiz_tournament_api.services;
+
+import com.example.quiz_tournament_api.models.QuizSummary;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory schedule of every quiz: its (startDate, endDate) window and the boundaries at which some quiz changes
+ * status.
+ *
+ * "Is this quiz playable now" and a quiz's status are computed from its window, without the database. The
+ * active/upcoming/past lists are precomputed and replaced by a timer that fires at the next boundary, so they
+ * flip exactly when a quiz starts or ends rather than being re-queried per request. The index is loaded at startup,
+ * updated when quizzes are created, edited or deleted, and reloaded periodically to pick up edits made on other
+ * nodes. Until it is loaded, and for quizzes it does not know yet (created on another node since the last reload),
+ * callers fall back to the database.
+ */
+@Service
+public class QuizScheduleIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(QuizScheduleIndex.class);
+
+    public enum Status { UPCOMING, ACTIVE, PAST }
+
+    private record Window(long quizId, String title, LocalDateTime startDate, LocalDateTime endDate) {
+
+        // Same predicates as the repository queries: active from the start up to and including the end
+        private Status statusAt(LocalDateTime time) {
+            if (startDate.isAfter(time)) {
+                return Status.UPCOMING;
+            }
+            return endDate.isBefore(time) ? Status.PAST : Status.ACTIVE;
+        }
+
+        // First instant at which the quiz is past
+        private LocalDateTime pastFrom() {
+            return endDate.plusNanos(1);
+        }
+    }
+
+    private record Lists(List<QuizSummary> active, List<QuizSummary> upcoming, List<QuizSummary> past) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, Window> windows = new HashMap<>();
+    private final TreeMap<LocalDateTime, Integer> boundaries = new TreeMap<>(); // Instant -> quizzes flipping then
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "quiz-schedule");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private ScheduledFuture<?> nextFlip;
+    private Map<Long, Window> changedDuringReload; // Quiz id -> window put (null if removed) while a reload reads
+    private volatile Lists lists = new Lists(List.of(), List.of(), List.of());
+    private volatile boolean loaded;
+
+    @Autowired
+    public QuizScheduleIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * @return the quiz's status now, or null if there is no such quiz.
+     */
+    public Status statusOf(long quizId) {
+        Window window;
+        synchronized (this) {
+            window = windows.get(quizId);
+        }
+        return window == null ? null : window.statusAt(LocalDateTime.now());
+    }
+
+    public List<QuizSummary> getActive() {
+        return lists.active();
+    }
+
+    public List<QuizSummary> getUpcoming() {
+        return lists.upcoming();
+    }
+
+    public List<QuizSummary> getPast() {
+        return lists.past();
+    }
+
+    /**
+     * Adds or replaces the quiz's window once the surrounding transaction commits.
+     */
+    public void put(long quizId, String title, LocalDateTime startDate, LocalDateTime endDate) {
+        Window window = new Window(quizId, title, startDate, endDate);
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                removeWindow(quizId);
+                addWindow(window);
+                recordChange(quizId, window);
+                refresh(LocalDateTime.now());
+            }
+        });
+    }
+
+    public void remove(long quizId) {
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                removeWindow(quizId);
+                recordChange(quizId, null);
+                refresh(LocalDateTime.now());
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${quiz.schedule.reload-interval-ms:300000}",
+            initialDelayString = "${quiz.schedule.reload-interval-ms:300000}")
+    public void reload() {
+        // The query runs without the lock; changes committed meanwhile are recorded and re-applied on top of it
+        synchronized (this) {
+            changedDuringReload = new HashMap<>();
+        }
+        List<Window> all;
+        try {
+            all = jdbcTemplate.query("SELECT id, title, start_date, end_date FROM quiz",
+                    (rs, rowNum) -> new Window(rs.getLong(1), rs.getString(2),
+                            rs.getTimestamp(3).toLocalDateTime(), rs.getTimestamp(4).toLocalDateTime()));
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changedDuringReload = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            windows.clear();
+            boundaries.clear();
+            all.forEach(this::addWindow);
+            changedDuringReload.forEach((quizId, window) -> {
+                removeWindow(quizId);
+                if (window != null) {
+                    addWindow(window);
+                }
+            });
+            changedDuringReload = null;
+            refresh(LocalDateTime.now());
+            loaded = true;
+        }
+        log.debug("Loaded the schedule of {} quizzes", all.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    // Rebuilds the lists as of the given time and sets the timer for the next boundary after it; caller holds the lock
+    private void refresh(LocalDateTime time) {
+        List<QuizSummary> active = new ArrayList<>();
+        List<QuizSummary> upcoming = new ArrayList<>();
+        List<QuizSummary> past = new ArrayList<>();
+        windows.values().stream()
+                .sorted(Comparator.comparing(Window::startDate).thenComparing(Window::quizId))
+                .forEach(window -> {
+                    Status status = window.statusAt(time);
+                    List<QuizSummary> list = status == Status.ACTIVE ? active : status == Status.UPCOMING ? upcoming : past;
+                    list.add(new QuizSummary(window.quizId(), window.title(), status.name()));
+                });
+        lists = new Lists(List.copyOf(active), List.copyOf(upcoming), List.copyOf(past));
+
+        if (nextFlip != null) {
+            nextFlip.cancel(false);
+        }
+        LocalDateTime next = boundaries.higherKey(time);
+        if (next != null) {
+            long delayMillis = Math.max(0, Duration.between(LocalDateTime.now(), next).toMillis() + 1);
+            nextFlip = timer.schedule(() -> flip(next), delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Runs on the timer thread at (or just after) a boundary; the lists are computed as of the boundary itself
+    private synchronized void flip(LocalDateTime boundary) {
+        LocalDateTime now = LocalDateTime.now();
+        refresh(now.isAfter(boundary) ? now : boundary);
+    }
+
+    private void recordChange(long quizId, Window window) {
+        if (changedDuringReload != null) {
+            changedDuringReload.put(quizId, window);
+        }
+    }
+
+    private void addWindow(Window window) {
+        windows.put(window.quizId(), window);
+        boundaries.merge(window.startDate(), 1, Integer::sum);
+        boundaries.merge(window.pastFrom(), 1, Integer::sum);
+    }
+
+    private void removeWindow(long quizId) {
+        Window window = windows.remove(quizId);
+        if (window != null) {
+            boundaries.computeIfPresent(window.startDate(), (instant, count) -> count == 1 ? null : count - 1);
+            boundaries.computeIfPresent(window.pastFrom(), (instant, count) -> count == 1 ? null : count - 1);
+        }
+    }
+}
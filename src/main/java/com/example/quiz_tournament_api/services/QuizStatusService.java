@@ -0,0 +1,171 @@
+package com.example.quiz_tournament_api.services;
+
+import com.example.quiz_tournament_api.models.Reaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A user's completion, score and reaction for many quizzes at once, read with one query whatever the number of
+ * quizzes, and the personalized quiz listing built the same way.
+ */
+@Service
+public class QuizStatusService {
+
+    public static final int MAX_QUIZZES = 500;
+
+    // The attempt answers for a completion whose score row is still queued (scores are written behind)
+    private static final String STATUS_QUERY =
+            "SELECT q.id, q.title, " +
+            "s.id IS NOT NULL OR a.completed_at IS NOT NULL AS completed, " +
+            "COALESCE(s.correct_answers, a.correct_answers) AS correct_answers, " +
+            "COALESCE(s.total_questions, a.total_questions) AS total_questions, " +
+            "s.percentage, COALESCE(s.completion_date, a.completed_at) AS completion_date, ul.liked " +
+            "FROM quiz q " +
+            "LEFT JOIN user_quiz_scores s ON s.quiz_id = q.id AND s.user_id = :userId " +
+            "LEFT JOIN quiz_attempts a ON a.quiz_id = q.id AND a.user_id = :userId " +
+            "LEFT JOIN user_likes ul ON ul.quiz_id = q.id AND ul.user_id = :userId ";
+
+    // Status is derived in SQL; the filters below test the dates directly so they can use the date indexes
+    private static final String LISTING_QUERY =
+            "SELECT q.id, q.title, q.category, q.difficulty, q.start_date, q.end_date, q.likes, q.dislikes, " +
+            "CASE WHEN q.start_date > :now THEN 'UPCOMING' WHEN q.end_date < :now THEN 'PAST' ELSE 'ACTIVE' END AS status, " +
+            "ul.liked, " +
+            "EXISTS (SELECT 1 FROM quiz_attempts a WHERE a.quiz_id = q.id AND a.user_id = :userId AND a.completed_at IS NOT NULL) " +
+            "OR EXISTS (SELECT 1 FROM user_quiz_scores s WHERE s.quiz_id = q.id AND s.user_id = :userId) AS completed " +
+            "FROM quiz q " +
+            "LEFT JOIN user_likes ul ON ul.quiz_id = q.id AND ul.user_id = :userId " +
+            "WHERE 1 = 1 ";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ReactionCounterService reactionCounterService;
+    private final CategoryCatalogService categoryCatalogService;
+
+    @Autowired
+    public QuizStatusService(NamedParameterJdbcTemplate jdbcTemplate, ReactionCounterService reactionCounterService,
+                             CategoryCatalogService categoryCatalogService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reactionCounterService = reactionCounterService;
+        this.categoryCatalogService = categoryCatalogService;
+    }
+
+    /**
+     * @param quizIds the quizzes to report (at most {@link #MAX_QUIZZES}), or null/empty for every quiz one page at a
+     *                time.
+     * @param afterId without quizIds, the last quiz id of the previous page, or null for the first page.
+     * @return one entry per existing quiz, in id order: whether the user completed it, their score (an attempt in
+     *         progress is not a score) and their reaction. Without quizIds at most {@link #MAX_QUIZZES} entries; a
+     *         full page means the next one starts after its last quizId.
+     */
+    public List<Map<String, Object>> getStatuses(long userId, Collection<Long> quizIds, Long afterId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userId);
+        String sql = STATUS_QUERY;
+        if (quizIds != null && !quizIds.isEmpty()) {
+            if (quizIds.size() > MAX_QUIZZES) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "At most " + MAX_QUIZZES + " quizzes can be checked at once.");
+            }
+            sql += "WHERE q.id IN (:quizIds) ORDER BY q.id";
+            params.addValue("quizIds", quizIds);
+        } else {
+            // Keyset page over the primary key, so every page costs the same
+            sql += "WHERE q.id > :afterId ORDER BY q.id LIMIT " + MAX_QUIZZES;
+            params.addValue("afterId", afterId == null ? 0L : afterId);
+        }
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> {
+            boolean completed = rs.getBoolean("completed");
+            Timestamp completionDate = rs.getTimestamp("completion_date");
+            Object liked = rs.getObject("liked");
+            int correctAnswers = rs.getInt("correct_answers");
+            int totalQuestions = rs.getInt("total_questions");
+            Double percentage = null;
+            if (completed) {
+                percentage = rs.getObject("percentage") != null ? rs.getDouble("percentage")
+                        : totalQuestions == 0 ? 0.0 : (double) correctAnswers / totalQuestions * 100;
+            }
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("quizId", rs.getLong("id"));
+            status.put("title", rs.getString("title"));
+            status.put("completed", completed);
+            status.put("correctAnswers", completed ? correctAnswers : null);
+            status.put("totalQuestions", completed ? totalQuestions : null);
+            status.put("percentage", percentage);
+            status.put("completionDate", completed && completionDate != null ? completionDate.toLocalDateTime() : null);
+            status.put("reaction", liked == null ? Reaction.CLEAR : (Boolean) liked ? Reaction.LIKE : Reaction.DISLIKE);
+            return status;
+        });
+    }
+
+    /**
+     * Lists quizzes for a user, latest start first: each quiz's status, like/dislike counts and the user's own
+     * reaction and completion, from one query that reads columns only (no entities or their collections).
+     *
+     * @param status ACTIVE, UPCOMING or PAST, or null for all.
+     * @return the page's items and whether another page follows.
+     */
+    public Map<String, Object> getListing(long userId, Integer category, String difficulty, String status,
+                                          int page, int size) {
+        LocalDateTime now = LocalDateTime.now();
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userId)
+                .addValue("now", Timestamp.valueOf(now))
+                .addValue("limit", size + 1) // One extra row tells whether there is a next page
+                .addValue("offset", (long) page * size);
+        StringBuilder sql = new StringBuilder(LISTING_QUERY);
+        if (category != null) {
+            sql.append("AND q.category = :category ");
+            params.addValue("category", category);
+        }
+        if (difficulty != null && !difficulty.isBlank()) {
+            sql.append("AND q.difficulty = :difficulty ");
+            params.addValue("difficulty", difficulty);
+        }
+        if (status != null && !status.isBlank()) {
+            sql.append(switch (status.toUpperCase(Locale.ROOT)) {
+                case "ACTIVE" -> "AND q.start_date <= :now AND q.end_date >= :now ";
+                case "UPCOMING" -> "AND q.start_date > :now ";
+                case "PAST" -> "AND q.end_date < :now ";
+                default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown quiz status: " + status);
+            });
+        }
+        sql.append("ORDER BY q.start_date DESC, q.id DESC LIMIT :limit OFFSET :offset");
+
+        List<Map<String, Object>> items = jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> {
+            long quizId = rs.getLong("id");
+            int[] pending = reactionCounterService.pendingDeltas(quizId);
+            Object liked = rs.getObject("liked");
+            Map<String, Object> quiz = new LinkedHashMap<>();
+            quiz.put("id", quizId);
+            quiz.put("title", rs.getString("title"));
+            quiz.put("category", rs.getInt("category"));
+            quiz.put("categoryName", categoryCatalogService.getCategoryName(rs.getInt("category")));
+            quiz.put("difficulty", rs.getString("difficulty"));
+            quiz.put("startDate", rs.getTimestamp("start_date").toLocalDateTime());
+            quiz.put("endDate", rs.getTimestamp("end_date").toLocalDateTime());
+            quiz.put("status", rs.getString("status"));
+            quiz.put("likes", Math.max(rs.getInt("likes") + pending[0], 0));
+            quiz.put("dislikes", Math.max(rs.getInt("dislikes") + pending[1], 0));
+            quiz.put("reaction", liked == null ? Reaction.CLEAR : (Boolean) liked ? Reaction.LIKE : Reaction.DISLIKE);
+            quiz.put("completed", rs.getBoolean("completed"));
+            return quiz;
+        });
+
+        boolean hasMore = items.size() > size;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("items", hasMore ? items.subList(0, size) : items);
+        result.put("page", page);
+        result.put("size", size);
+        result.put("hasMore", hasMore);
+        return result;
+    }
+}
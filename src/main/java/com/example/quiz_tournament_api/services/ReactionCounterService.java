@@ -0,0 +1,141 @@
+package com.example.quiz_tournament_api.services;
+
+import com.example.quiz_tournament_api.models.Quiz;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Like and dislike counts of quizzes, accumulated in memory and added to {@code quiz.likes}/{@code quiz.dislikes}
+ * as deltas on a schedule.
+ *
+ * Every reaction bumps a striped {@link LongAdder} once its {@code user_likes} row commits, so a popular quiz no
+ * longer serializes its reactions on the quiz row lock; the quiz row is updated once per flush instead. Reads add
+ * the unflushed delta to the stored count. {@code user_likes} stays the exact record: a node that stops without
+ * its shutdown flush loses at most one interval of counter updates, not reactions.
+ */
+@Service
+public class ReactionCounterService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactionCounterService.class);
+
+    private static final String ADD_DELTAS =
+            "UPDATE quiz SET likes = GREATEST(likes + ?, 0), dislikes = GREATEST(dislikes + ?, 0) WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, Deltas> pending = new ConcurrentHashMap<>();
+
+    // Metrics
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushedRows = new LongAdder();
+    private final LongAdder failedFlushes = new LongAdder();
+
+    @Autowired
+    public ReactionCounterService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Adds to the quiz's counters once the surrounding transaction commits.
+     */
+    public void add(long quizId, int likes, int dislikes) {
+        AfterCommit.run(() -> {
+            Deltas deltas = pending.computeIfAbsent(quizId, id -> new Deltas());
+            deltas.likes.add(likes);
+            deltas.dislikes.add(dislikes);
+        });
+    }
+
+    /**
+     * Adds the unflushed deltas to the counts of loaded quizzes, for reading only (see {@link Quiz#getLikes()}).
+     */
+    public void applyPending(List<Quiz> quizzes) {
+        for (Quiz quiz : quizzes) {
+            Deltas deltas = pending.get(quiz.getId());
+            if (deltas != null) {
+                quiz.setPendingReactions((int) deltas.likes.sum(), (int) deltas.dislikes.sum());
+            }
+        }
+    }
+
+    /**
+     * @return the quiz's likes and dislikes not yet added to its row, for adding to counts read with SQL.
+     */
+    public int[] pendingDeltas(long quizId) {
+        Deltas deltas = pending.get(quizId);
+        return deltas == null ? new int[2] : new int[]{(int) deltas.likes.sum(), (int) deltas.dislikes.sum()};
+    }
+
+    public void dropQuiz(long quizId) {
+        AfterCommit.run(() -> pending.remove(quizId));
+    }
+
+    // Takes every non-zero delta and adds it to its quiz row, all rows in one batch
+    @Scheduled(fixedDelayString = "${quiz.reactions.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        List<Long> quizIds = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        pending.forEach((quizId, deltas) -> {
+            // sumThenReset takes each increment exactly once, even while reactions keep coming in
+            long likes = deltas.likes.sumThenReset();
+            long dislikes = deltas.dislikes.sumThenReset();
+            if (likes != 0 || dislikes != 0) {
+                quizIds.add(quizId);
+                rows.add(new Object[]{likes, dislikes, quizId});
+            }
+        });
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(ADD_DELTAS, rows);
+            flushes.increment();
+            flushedRows.add(rows.size());
+        } catch (DataAccessException e) {
+            // Put the deltas back for the next flush
+            for (int i = 0; i < rows.size(); i++) {
+                Deltas deltas = pending.computeIfAbsent(quizIds.get(i), id -> new Deltas());
+                deltas.likes.add((long) rows.get(i)[0]);
+                deltas.dislikes.add((long) rows.get(i)[1]);
+            }
+            failedFlushes.increment();
+            log.warn("Writing reaction counts of {} quizzes failed: {}", rows.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    public Map<String, Object> getMetrics() {
+        long unflushed = 0;
+        for (Deltas deltas : pending.values()) {
+            unflushed += Math.abs(deltas.likes.sum()) + Math.abs(deltas.dislikes.sum());
+        }
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("quizzes", pending.size());
+        metrics.put("unflushedReactions", unflushed);
+        metrics.put("flushes", flushes.sum());
+        metrics.put("flushedRows", flushedRows.sum());
+        metrics.put("failedFlushes", failedFlushes.sum());
+        return metrics;
+    }
+
+    private static final class Deltas {
+        private final LongAdder likes = new LongAdder();
+        private final LongAdder dislikes = new LongAdder();
+    }
+}
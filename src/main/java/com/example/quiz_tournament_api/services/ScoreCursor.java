@@ -0,0 +1,38 @@
+package com.example.quiz_tournament_api.services;
+
+import com.example.quiz_tournament_api.models.ScoreSummary;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a score page: its correct answers, completion date and id, the columns the pages
+ * are ordered by. Clients get it as an opaque URL-safe string and pass it back to fetch the next page.
+ */
+record ScoreCursor(int correctAnswers, LocalDateTime completionDate, long id) {
+
+    static ScoreCursor after(ScoreSummary score) {
+        return new ScoreCursor(score.getCorrectAnswers(), score.getCompletionDate(), score.getId());
+    }
+
+    String encode() {
+        String value = correctAnswers + "|" + completionDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ScoreCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Expected 3 parts");
+            }
+            return new ScoreCursor(Integer.parseInt(parts[0]), LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid page cursor.");
+        }
+    }
+}
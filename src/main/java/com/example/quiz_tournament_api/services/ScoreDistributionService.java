@@ -0,0 +1,240 @@
+package com.example.quiz_tournament_api.services;
+
+import com.example.quiz_tournament_api.models.QuizScoreHistogram;
+import com.example.quiz_tournament_api.repositories.QuizScoreHistogramRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-quiz distribution of score percentages, kept as a fixed histogram of 101 buckets (one per whole percentage
+ * point) plus the participant count and the summed percentage.
+ *
+ * Each committed score increments one bucket, so the mean, median, p90 and the histogram itself are answered by
+ * walking at most 101 counters whatever the number of participants. Changed histograms are written to
+ * {@code quiz_score_histograms} every few seconds and on shutdown, and are read back at startup instead of
+ * rescanning {@code user_quiz_scores}; only quizzes that have scores but no stored histogram yet are aggregated
+ * from the scores, once.
+ */
+@Service
+public class ScoreDistributionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ScoreDistributionService.class);
+
+    public static final int BUCKETS = 101;
+
+    private static final String UPSERT_HISTOGRAM =
+            "INSERT INTO quiz_score_histograms (quiz_id, buckets, participants, percentage_sum, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?) " +
+            "ON CONFLICT (quiz_id) DO UPDATE SET buckets = EXCLUDED.buckets, participants = EXCLUDED.participants, " +
+            "percentage_sum = EXCLUDED.percentage_sum, updated_at = EXCLUDED.updated_at";
+
+    // Quizzes with scores but no stored histogram (e.g. scored before histograms existed)
+    private static final String MISSING_HISTOGRAMS =
+            "SELECT s.quiz_id, LEAST(FLOOR(s.percentage + 1e-9), 100), COUNT(*), SUM(s.percentage) " +
+            "FROM user_quiz_scores s " +
+            "WHERE NOT EXISTS (SELECT 1 FROM quiz_score_histograms h WHERE h.quiz_id = s.quiz_id) " +
+            "GROUP BY s.quiz_id, LEAST(FLOOR(s.percentage + 1e-9), 100)";
+
+    private final QuizScoreHistogramRepository histogramRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private volatile boolean loaded; // Nothing is written before the stored histograms have been read
+
+    @Autowired
+    public ScoreDistributionService(QuizScoreHistogramRepository histogramRepository, JdbcTemplate jdbcTemplate) {
+        this.histogramRepository = histogramRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Adds a completed score to the quiz's histogram once the surrounding transaction commits.
+     */
+    public void recordScore(long quizId, double percentage) {
+        AfterCommit.run(() -> {
+            histograms.computeIfAbsent(quizId, id -> new Histogram()).add(bucketOf(percentage), 1, percentage);
+            dirty.add(quizId);
+        });
+    }
+
+    /**
+     * Removes the quiz's histogram, the stored row as part of the surrounding transaction.
+     */
+    public void dropQuiz(long quizId) {
+        jdbcTemplate.update("DELETE FROM quiz_score_histograms WHERE quiz_id = ?", quizId);
+        AfterCommit.run(() -> {
+            histograms.remove(quizId);
+            dirty.remove(quizId);
+        });
+    }
+
+    /**
+     * @return participant count, mean, median, p90 and the 101 bucket counts of the quiz. Percentiles are the lower
+     *         bound of the bucket holding the nearest-rank score, i.e. exact to the whole percentage point.
+     */
+    public Map<String, Object> getStats(long quizId) {
+        Histogram histogram = histograms.get(quizId);
+        int[] counts = new int[BUCKETS];
+        long participants = 0;
+        double sum = 0;
+        if (histogram != null) {
+            synchronized (histogram) {
+                System.arraycopy(histogram.counts, 0, counts, 0, BUCKETS);
+                participants = histogram.participants;
+                sum = histogram.percentageSum;
+            }
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("quizId", quizId);
+        stats.put("participants", participants);
+        stats.put("mean", participants == 0 ? null : sum / participants);
+        stats.put("median", percentile(counts, participants, 0.5));
+        stats.put("p90", percentile(counts, participants, 0.9));
+        stats.put("min", percentile(counts, participants, 0));
+        stats.put("max", percentile(counts, participants, 1));
+        stats.put("histogram", counts);
+        return stats;
+    }
+
+    /**
+     * Loads the stored histograms, then builds and stores the ones that are missing from the scores. Scores
+     * recorded while loading are kept: loaded counts are added to, not replace, what is already in memory.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(ScoreWriteBehindService.LOAD_AFTER_RESTORE_ORDER)
+    public void load() {
+        int stored = 0;
+        for (QuizScoreHistogram row : histogramRepository.findAll()) {
+            Histogram fromRow = Histogram.decode(row.getBuckets(), row.getParticipants(), row.getPercentageSum());
+            histograms.merge(row.getQuizId(), fromRow, Histogram::addAll);
+            stored++;
+        }
+
+        Map<Long, Histogram> missing = new HashMap<>();
+        jdbcTemplate.query(MISSING_HISTOGRAMS, (RowCallbackHandler) rs -> missing
+                .computeIfAbsent(rs.getLong(1), id -> new Histogram())
+                .add(rs.getInt(2), rs.getInt(3), rs.getDouble(4)));
+        missing.forEach((quizId, histogram) -> {
+            histograms.merge(quizId, histogram, Histogram::addAll);
+            dirty.add(quizId);
+        });
+        loaded = true;
+        flush();
+        log.info("Loaded {} score histograms, built {} from existing scores", stored, missing.size());
+    }
+
+    // Writes the histograms changed since the last flush in one batch
+    @Scheduled(fixedDelayString = "${quiz.score-stats.flush-interval-ms:10000}")
+    public void flush() {
+        List<Long> quizIds = new ArrayList<>(dirty);
+        if (!loaded || quizIds.isEmpty()) {
+            return;
+        }
+        dirty.removeAll(quizIds); // Taken before the snapshot, so a concurrent increment marks the quiz again
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(quizIds.size());
+        for (Long quizId : quizIds) {
+            Histogram histogram = histograms.get(quizId);
+            if (histogram == null) {
+                continue; // Dropped meanwhile
+            }
+            synchronized (histogram) {
+                rows.add(new Object[]{quizId, histogram.encode(), histogram.participants, histogram.percentageSum, now});
+            }
+        }
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_HISTOGRAM, rows);
+        } catch (DataAccessException e) {
+            dirty.addAll(quizIds); // Retried with the next flush
+            log.warn("Writing {} score histograms failed: {}", rows.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private static int bucketOf(double percentage) {
+        // The epsilon keeps e.g. 29/100 * 100 = 28.999999999999996 in the 29 bucket
+        return (int) Math.max(0, Math.min(BUCKETS - 1, Math.floor(percentage + 1e-9)));
+    }
+
+    // Nearest-rank percentile over the buckets, null without participants
+    private static Integer percentile(int[] counts, long participants, double fraction) {
+        if (participants == 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * participants));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return bucket;
+            }
+        }
+        return BUCKETS - 1;
+    }
+
+    private static final class Histogram {
+        private final int[] counts = new int[BUCKETS];
+        private long participants;
+        private double percentageSum;
+
+        private synchronized void add(int bucket, int count, double sum) {
+            counts[bucket] += count;
+            participants += count;
+            percentageSum += sum;
+        }
+
+        private synchronized Histogram addAll(Histogram other) {
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                counts[bucket] += other.counts[bucket];
+            }
+            participants += other.participants;
+            percentageSum += other.percentageSum;
+            return this;
+        }
+
+        // Caller holds the lock
+        private byte[] encode() {
+            ByteBuffer buffer = ByteBuffer.allocate(BUCKETS * Integer.BYTES);
+            for (int count : counts) {
+                buffer.putInt(count);
+            }
+            return buffer.array();
+        }
+
+        private static Histogram decode(byte[] buckets, long participants, double percentageSum) {
+            Histogram histogram = new Histogram();
+            ByteBuffer buffer = ByteBuffer.wrap(buckets);
+            for (int bucket = 0; bucket < BUCKETS && buffer.remaining() >= Integer.BYTES; bucket++) {
+                histogram.counts[bucket] = buffer.getInt();
+            }
+            histogram.participants = participants;
+            histogram.percentageSum = percentageSum;
+            return histogram;
+        }
+    }
+}
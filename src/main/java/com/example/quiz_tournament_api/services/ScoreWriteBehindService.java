@@ -0,0 +1,267 @@
+package com.example.quiz_tournament_api.services;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind pipeline for {@code user_quiz_scores}.
+ *
+ * A submission is acknowledged as soon as its attempt is completed; the score row is queued after the commit and a
+ * single writer thread inserts queued rows in JDBC batches, flushing when {@code batch-size} rows are waiting or
+ * {@code flush-interval-ms} after the first one arrived. Inserts use {@code ON CONFLICT DO NOTHING} on the
+ * (quiz_id, user_id) unique constraint, so a score is never written twice.
+ *
+ * Completed attempts are stored synchronously, so a score lost from the queue (crash before a flush) is restored
+ * from {@code quiz_attempts} at the next startup. With {@code quiz.scores.write-behind.enabled=false} rows are
+ * inserted synchronously in the submitting transaction.
+ */
+@Service
+public class ScoreWriteBehindService {
+
+    private static final Logger log = LoggerFactory.getLogger(ScoreWriteBehindService.class);
+
+    private static final String INSERT_SCORE =
+            "INSERT INTO user_quiz_scores (quiz_id, user_id, correct_answers, total_questions, percentage, completion_date) " +
+            "VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT (quiz_id, user_id) DO NOTHING";
+
+    /**
+     * Startup order of the {@link ApplicationReadyEvent} listeners: lost scores are restored first, so the boards and
+     * statistics loaded from {@code user_quiz_scores} afterwards include them.
+     */
+    public static final int RESTORE_ORDER = Ordered.HIGHEST_PRECEDENCE;
+    public static final int LOAD_AFTER_RESTORE_ORDER = RESTORE_ORDER + 1;
+
+    private static final String RESTORE_SCORES =
+            "INSERT INTO user_quiz_scores (quiz_id, user_id, correct_answers, total_questions, percentage, completion_date) " +
+            "SELECT a.quiz_id, a.user_id, a.correct_answers, a.total_questions, " +
+            "CASE WHEN a.total_questions = 0 THEN 0 ELSE a.correct_answers * 100.0 / a.total_questions END, a.completed_at " +
+            "FROM quiz_attempts a WHERE a.completed_at >= ? ON CONFLICT (quiz_id, user_id) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long restoreWindowHours;
+
+    private final BlockingQueue<PendingScore> queue;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    // Metrics
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder duplicatesSkipped = new LongAdder();
+    private final LongAdder failedRows = new LongAdder();
+    private final LongAdder writtenOnCallerThread = new LongAdder();
+    private final LongAdder groups = new LongAdder();
+    private final LongAdder groupedRows = new LongAdder();
+    private final AtomicLong maxGroupSize = new AtomicLong();
+    private final LongAdder totalFlushNanos = new LongAdder();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+
+    @Autowired
+    public ScoreWriteBehindService(JdbcTemplate jdbcTemplate,
+                                   @Value("${quiz.scores.write-behind.enabled:true}") boolean enabled,
+                                   @Value("${quiz.scores.write-behind.batch-size:500}") int batchSize,
+                                   @Value("${quiz.scores.write-behind.flush-interval-ms:200}") long flushIntervalMillis,
+                                   @Value("${quiz.scores.write-behind.queue-capacity:100000}") int queueCapacity,
+                                   @Value("${quiz.scores.write-behind.restore-window-hours:24}") long restoreWindowHours) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.restoreWindowHours = restoreWindowHours;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.writer = new Thread(this::writeLoop, "score-write-behind");
+        this.writer.setDaemon(true);
+        if (enabled) {
+            this.writer.start();
+        }
+    }
+
+    /**
+     * Records the score of a completed attempt. Inside a transaction the row is queued after the commit, so a
+     * rolled-back submission never produces a score.
+     */
+    public void record(long quizId, long userId, int correctAnswers, int totalQuestions, double percentage,
+                       LocalDateTime completionDate) {
+        PendingScore score = new PendingScore(quizId, userId, correctAnswers, totalQuestions, percentage, completionDate);
+        if (!enabled) {
+            // Synchronous mode: part of the submitting transaction, failures roll the submission back
+            if (jdbcTemplate.update(INSERT_SCORE, ps -> bind(ps, score)) == 0) {
+                duplicatesSkipped.increment();
+            } else {
+                written.increment();
+            }
+            return;
+        }
+        AfterCommit.run(() -> enqueue(score));
+    }
+
+    /**
+     * Re-inserts scores of recently completed attempts whose queued row was lost (e.g. the node stopped before
+     * flushing).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(RESTORE_ORDER)
+    public void restoreMissingScores() {
+        try {
+            int restored = jdbcTemplate.update(RESTORE_SCORES,
+                    Timestamp.valueOf(LocalDateTime.now().minusHours(restoreWindowHours)));
+            if (restored > 0) {
+                log.info("Restored {} scores of completed attempts that were not written", restored);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Restoring scores of completed attempts failed: {}", e.getMessage());
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        long groupCount = groups.sum();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", enabled);
+        metrics.put("queueDepth", queue.size());
+        metrics.put("queued", queued.sum());
+        metrics.put("written", written.sum());
+        metrics.put("duplicatesSkipped", duplicatesSkipped.sum());
+        metrics.put("failedRows", failedRows.sum());
+        metrics.put("writtenOnCallerThread", writtenOnCallerThread.sum());
+        metrics.put("groups", groupCount);
+        metrics.put("averageGroupSize", groupCount == 0 ? 0 : (double) groupedRows.sum() / groupCount);
+        metrics.put("maxGroupSize", maxGroupSize.get());
+        metrics.put("averageFlushMs", groupCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalFlushNanos.sum() / groupCount));
+        metrics.put("maxFlushMs", TimeUnit.NANOSECONDS.toMillis(maxFlushNanos.get()));
+        return metrics;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        // Whatever the writer did not get to is written on the shutdown thread
+        List<PendingScore> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            write(remaining.subList(from, Math.min(from + batchSize, remaining.size())));
+        }
+    }
+
+    private void enqueue(PendingScore score) {
+        queued.increment();
+        if (!queue.offer(score)) {
+            // Queue full: fall back to a synchronous insert rather than dropping the score
+            writtenOnCallerThread.increment();
+            write(List.of(score));
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingScore> group = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingScore first = queue.take();
+                group.add(first);
+                long flushAt = System.nanoTime() + flushIntervalNanos;
+                while (group.size() < batchSize) {
+                    queue.drainTo(group, batchSize - group.size());
+                    long remaining = flushAt - System.nanoTime();
+                    if (group.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingScore next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+                write(group);
+            } catch (InterruptedException e) {
+                write(group); // Shutting down: do not lose the group being collected
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in the score writer", e); // Keep the writer alive
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingScore> group) {
+        if (group.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            int[][] counts = jdbcTemplate.batchUpdate(INSERT_SCORE, group, group.size(), ScoreWriteBehindService::bind);
+            for (int[] batch : counts) {
+                for (int count : batch) {
+                    if (count == 0) {
+                        duplicatesSkipped.increment();
+                    } else {
+                        written.increment();
+                    }
+                }
+            }
+        } catch (DataAccessException e) {
+            // One bad row (e.g. its quiz was deleted meanwhile) fails the whole batch; retry row by row
+            log.warn("Batch insert of {} scores failed, retrying row by row: {}", group.size(), e.getMessage());
+            for (PendingScore score : group) {
+                try {
+                    if (jdbcTemplate.update(INSERT_SCORE, ps -> bind(ps, score)) == 0) {
+                        duplicatesSkipped.increment();
+                    } else {
+                        written.increment();
+                    }
+                } catch (DataAccessException rowError) {
+                    failedRows.increment();
+                    log.error("Dropping score of user {} for quiz {}: {}", score.userId(), score.quizId(), rowError.getMessage());
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        groups.increment();
+        groupedRows.add(group.size());
+        maxGroupSize.accumulateAndGet(group.size(), Math::max);
+        totalFlushNanos.add(elapsed);
+        maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+    }
+
+    private static void bind(PreparedStatement ps, PendingScore score) throws SQLException {
+        ps.setLong(1, score.quizId());
+        ps.setLong(2, score.userId());
+        ps.setInt(3, score.correctAnswers());
+        ps.setInt(4, score.totalQuestions());
+        ps.setDouble(5, score.percentage());
+        ps.setTimestamp(6, Timestamp.valueOf(score.completionDate()));
+    }
+
+    private record PendingScore(long quizId, long userId, int correctAnswers, int totalQuestions, double percentage,
+                                LocalDateTime completionDate) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.quiz_tournament_api.services;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key onto one in-flight load.
+ *
+ * The first caller for a key runs the loader; every caller arriving before it completes gets the same result.
+ * Once the load completes the key is released, so later calls start a new load (results are expected to be
+ * cached by the caller).
+ *
+ * @param <K> the key identifying identical work.
+ * @param <V> the loaded value.
+ */
+public class SingleFlight<K, V> {
+
+    private static final int RECENT_FLIGHTS = 50;
+
+    private final ConcurrentHashMap<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+
+    // Metrics
+    private final LongAdder flights = new LongAdder();
+    private final LongAdder collapsedCallers = new LongAdder();
+    private final AtomicLong maxCallersPerFlight = new AtomicLong();
+    private final Deque<Map<String, Object>> recentFlights = new ArrayDeque<>();
+
+    /**
+     * Runs the asynchronous loader unless a load for the key is already in flight.
+     *
+     * @return a future of the shared result; completing or cancelling it does not affect other callers.
+     */
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> loader) {
+        Flight<V> flight = new Flight<>();
+        Flight<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            existing.callers.increment();
+            collapsedCallers.increment();
+            return existing.future.copy();
+        }
+
+        flights.increment();
+        CompletableFuture<V> load;
+        try {
+            load = loader.get();
+        } catch (RuntimeException e) {
+            load = CompletableFuture.failedFuture(e);
+        }
+        load.whenComplete((value, error) -> {
+            inFlight.remove(key, flight);
+            recordFlight(key, flight);
+            if (error != null) {
+                flight.future.completeExceptionally(error);
+            } else {
+                flight.future.complete(value);
+            }
+        });
+        return flight.future.copy();
+    }
+
+    /**
+     * Runs the blocking loader unless a load for the key is already in flight, in which case the caller waits
+     * for that load instead.
+     */
+    public V call(K key, Supplier<V> loader) {
+        try {
+            return execute(key, () -> CompletableFuture.completedFuture(loader.get())).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("inFlight", inFlight.size());
+        metrics.put("flights", flights.sum());
+        metrics.put("collapsedCallers", collapsedCallers.sum());
+        metrics.put("maxCallersPerFlight", maxCallersPerFlight.get());
+        synchronized (recentFlights) {
+            metrics.put("recentFlights", new ArrayList<>(recentFlights));
+        }
+        return metrics;
+    }
+
+    private void recordFlight(K key, Flight<V> flight) {
+        long callers = flight.callers.sum();
+        maxCallersPerFlight.accumulateAndGet(callers, Math::max);
+
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("key", String.valueOf(key));
+        entry.put("callers", callers);
+        synchronized (recentFlights) {
+            if (recentFlights.size() == RECENT_FLIGHTS) {
+                recentFlights.removeLast();
+            }
+            recentFlights.addFirst(entry);
+        }
+    }
+
+    private static final class Flight<V> {
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private final LongAdder callers = new LongAdder();
+
+        private Flight() {
+            callers.increment(); // The caller that runs the load
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.example.quiz_tournament_api.services;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Rate-limited, asynchronous client for the Open Trivia API.
+ *
+ * Requests are queued and sent by a single dispatcher thread at most once per
+ * {@code open.trivia.min-request-interval-ms} (the provider allows one request every 5 seconds per IP).
+ * Rate-limited and failed requests are re-queued with exponential backoff instead of sleeping on the
+ * caller's thread, and callers get a {@link CompletableFuture} that completes on a callback pool.
+ *
+ * A {@link CircuitBreaker} fails requests fast while the provider keeps failing, and a scheduled probe checks for
+ * recovery once the breaker's cool-down has passed.
+ */
+@Service
+public class TriviaClient {
+
+    private static final Logger log = LoggerFactory.getLogger(TriviaClient.class);
+
+    private final RestTemplate restTemplate;
+    private final long minRequestIntervalNanos;
+    private final long retryBackoffMillis;
+    private final int maxAttempts;
+    private final CircuitBreaker circuitBreaker;
+
+    @Value("${open.trivia.category.url}")
+    private String probeUrl; // Small, cheap response used to probe for recovery
+
+    private final BlockingQueue<PendingRequest<?>> queue;
+    private final Thread dispatcher;
+    private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor(
+            runnable -> daemonThread(runnable, "trivia-client-retry"));
+    private final ExecutorService callbackExecutor = Executors.newFixedThreadPool(2,
+            runnable -> daemonThread(runnable, "trivia-client-callback"));
+    private volatile boolean running = true;
+
+    // Metrics
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    @Autowired
+    public TriviaClient(RestTemplate restTemplate,
+                        @Value("${open.trivia.min-request-interval-ms:5000}") long minRequestIntervalMillis,
+                        @Value("${open.trivia.retry-backoff-ms:5000}") long retryBackoffMillis,
+                        @Value("${open.trivia.max-attempts:3}") int maxAttempts,
+                        @Value("${open.trivia.queue-capacity:1000}") int queueCapacity,
+                        @Value("${open.trivia.breaker.failure-threshold:5}") int failureThreshold,
+                        @Value("${open.trivia.breaker.open-duration-ms:30000}") long openDurationMillis) {
+        this.restTemplate = restTemplate;
+        this.minRequestIntervalNanos = TimeUnit.MILLISECONDS.toNanos(minRequestIntervalMillis);
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.maxAttempts = maxAttempts;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.circuitBreaker = new CircuitBreaker("open-trivia", failureThreshold, openDurationMillis);
+        this.dispatcher = daemonThread(this::dispatchLoop, "trivia-client-dispatcher");
+        this.dispatcher.start();
+    }
+
+    /**
+     * Queues a GET request and returns immediately.
+     *
+     * @param url          the full request URL.
+     * @param responseType the type the JSON body is converted to.
+     * @return a future completed with the response body, or exceptionally once all attempts failed.
+     */
+    public <T> CompletableFuture<T> get(String url, Class<T> responseType) {
+        return submit(new PendingRequest<>(url, restTemplate -> restTemplate.getForObject(url, responseType)));
+    }
+
+    /**
+     * Queues a GET request whose body is consumed as a stream by the extractor, without buffering it first.
+     * The extractor runs on the dispatcher thread and should only parse.
+     *
+     * @param url       the full request URL.
+     * @param extractor reads the response body while the connection is open.
+     * @return a future completed with the extractor's result, or exceptionally once all attempts failed.
+     */
+    public <T> CompletableFuture<T> stream(String url, ResponseExtractor<T> extractor) {
+        return submit(new PendingRequest<>(url, restTemplate -> restTemplate.execute(url, HttpMethod.GET, null, extractor)));
+    }
+
+    /**
+     * Returns a snapshot of the client metrics (queue depth, wait times and outcome counters).
+     */
+    public Map<String, Object> getMetrics() {
+        long dispatchedCount = dispatched.sum();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("queueDepth", queue.size());
+        metrics.put("submitted", submitted.sum());
+        metrics.put("dispatched", dispatchedCount);
+        metrics.put("succeeded", succeeded.sum());
+        metrics.put("failed", failed.sum());
+        metrics.put("retried", retried.sum());
+        metrics.put("rejected", rejected.sum());
+        metrics.put("averageWaitMs", dispatchedCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.sum() / dispatchedCount));
+        metrics.put("maxWaitMs", TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()));
+        return metrics;
+    }
+
+    public Map<String, Object> getCircuitBreakerMetrics() {
+        return circuitBreaker.getMetrics();
+    }
+
+    /**
+     * @return false while the circuit breaker is open and requests fail fast.
+     */
+    public boolean isAvailable() {
+        return !circuitBreaker.isOpen();
+    }
+
+    @Scheduled(fixedDelayString = "${open.trivia.breaker.probe-interval-ms:10000}")
+    public void probeForRecovery() {
+        // Once the cool-down has passed, the next dispatched request is the half-open probe
+        if (circuitBreaker.getState() == CircuitBreaker.State.OPEN && !circuitBreaker.isOpen() && queue.isEmpty()) {
+            get(probeUrl, Map.class);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        dispatcher.interrupt();
+        retryScheduler.shutdownNow();
+        callbackExecutor.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> submit(PendingRequest<T> request) {
+        submitted.increment();
+        if (circuitBreaker.isOpen()) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(unavailable());
+        }
+        enqueue(request);
+        return request.future;
+    }
+
+    private void enqueue(PendingRequest<?> request) {
+        request.enqueuedAtNanos = System.nanoTime();
+        if (!queue.offer(request)) {
+            rejected.increment();
+            request.future.completeExceptionally(new RuntimeException("Trivia request queue is full. Please try again later."));
+        }
+    }
+
+    private void dispatchLoop() {
+        long nextPermitNanos = System.nanoTime();
+        while (running) {
+            try {
+                PendingRequest<?> request = queue.take();
+                if (!circuitBreaker.tryAcquire()) {
+                    fail(request, unavailable()); // Queued before the breaker opened; do not spend a permit on it
+                    continue;
+                }
+                long waitForPermit = nextPermitNanos - System.nanoTime();
+                if (waitForPermit > 0) {
+                    TimeUnit.NANOSECONDS.sleep(waitForPermit); // Only the dispatcher waits, never a caller
+                }
+                nextPermitNanos = System.nanoTime() + minRequestIntervalNanos;
+                recordWait(System.nanoTime() - request.enqueuedAtNanos);
+                execute(request);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private <T> void execute(PendingRequest<T> request) {
+        request.attempt++;
+        try {
+            T body = request.call.apply(restTemplate);
+            circuitBreaker.onSuccess();
+            succeeded.increment();
+            callbackExecutor.execute(() -> request.future.complete(body));
+        } catch (HttpClientErrorException.TooManyRequests | HttpServerErrorException | ResourceAccessException e) {
+            circuitBreaker.onFailure();
+            retryOrFail(request, e);
+        } catch (RestClientException e) {
+            circuitBreaker.onSuccess(); // The provider answered; the request itself was rejected
+            fail(request, new RuntimeException("Error calling external API: " + e.getMessage(), e));
+        } catch (RuntimeException e) {
+            circuitBreaker.onSuccess();
+            fail(request, e); // Never let a single request stop the dispatcher
+        }
+    }
+
+    private void retryOrFail(PendingRequest<?> request, RestClientException e) {
+        if (request.attempt >= maxAttempts) {
+            fail(request, e instanceof HttpClientErrorException.TooManyRequests
+                    ? new RuntimeException("Rate limit exceeded. Please try again later.", e)
+                    : new ProviderUnavailableException("Error calling external API: " + e.getMessage(), e));
+            return;
+        }
+        long backoff = retryBackoffMillis << (request.attempt - 1);
+        log.debug("Retrying {} in {} ms after attempt {} failed: {}", request.url, backoff, request.attempt, e.getMessage());
+        retried.increment();
+        retryScheduler.schedule(() -> enqueue(request), backoff, TimeUnit.MILLISECONDS);
+    }
+
+    private void fail(PendingRequest<?> request, RuntimeException e) {
+        failed.increment();
+        callbackExecutor.execute(() -> request.future.completeExceptionally(e));
+    }
+
+    private static RuntimeException unavailable() {
+        return new ProviderUnavailableException("Open Trivia API is unavailable. Please try again later.");
+    }
+
+    private void recordWait(long waitNanos) {
+        dispatched.increment();
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    private static Thread daemonThread(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static final class PendingRequest<T> {
+        private final String url;
+        private final Function<RestTemplate, T> call;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private volatile long enqueuedAtNanos;
+        private volatile int attempt;
+
+        private PendingRequest(String url, Function<RestTemplate, T> call) {
+            this.url = url;
+            this.call = call;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.quiz_tournament_api.services;
+
+import com.example.quiz_tournament_api.models.Question;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parses an Open Trivia API response straight from the response stream into {@link Question} entities.
+ *
+ * The body is read token by token with Jackson's streaming parser, so neither the raw body nor a JSON tree is
+ * ever held in memory. HTML entities are decoded, the low-cardinality category/difficulty/type strings are
+ * interned, and questions whose content hash was already seen in the same response are dropped. Questions already
+ * stored for the quiz are dropped by {@link QuestionService}, off the provider's dispatcher thread.
+ */
+@Service
+public class TriviaIngestService {
+
+    private static final int MAX_INTERNED = 1024;
+
+    private final JsonFactory jsonFactory;
+    private final ConcurrentHashMap<String, String> interned = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TriviaIngestService(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Reads a provider response of the form {@code {"response_code": 0, "results": [...]}}.
+     *
+     * @param body the response body; it is not closed.
+     * @return the decoded, de-duplicated questions and the provider response code.
+     */
+    public ParsedQuestions parse(InputStream body) throws IOException {
+        int responseCode = -1;
+        List<Question> questions = new ArrayList<>();
+        Set<String> seenHashes = new HashSet<>();
+        int duplicates = 0;
+
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("response_code".equals(field)) {
+                    responseCode = parser.getIntValue();
+                } else if ("results".equals(field) && parser.currentToken() == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        Question question = parseResult(parser);
+                        if (seenHashes.add(question.getContentHash())) {
+                            questions.add(question);
+                        } else {
+                            duplicates++;
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return new ParsedQuestions(responseCode, questions, duplicates);
+    }
+
+    /**
+     * Parses one result object, the parser being positioned on its START_OBJECT.
+     */
+    public Question parseResult(JsonParser parser) throws IOException {
+        String category = null;
+        String type = null;
+        String difficulty = null;
+        String text = null;
+        String correctAnswer = null;
+        List<String> incorrectAnswers = new ArrayList<>(3);
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "category" -> category = intern(decode(parser.getText()));
+                case "type" -> type = intern(parser.getText());
+                case "difficulty" -> difficulty = intern(parser.getText());
+                case "question" -> text = decode(parser.getText());
+                case "correct_answer" -> correctAnswer = decode(parser.getText());
+                case "incorrect_answers" -> {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        incorrectAnswers.add(decode(parser.getText()));
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        Question question = new Question(category, type, difficulty, text, correctAnswer, incorrectAnswers);
+        question.setContentHash(contentHash(text, correctAnswer));
+        return question;
+    }
+
+    /**
+     * Hash identifying a question by its text and correct answer, independent of category or quiz.
+     */
+    public static String contentHash(String text, String correctAnswer) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(text).trim().toLowerCase().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(correctAnswer).trim().toLowerCase().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String decode(String value) {
+        return value != null && value.indexOf('&') >= 0 ? HtmlUtils.htmlUnescape(value) : value;
+    }
+
+    private String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = interned.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (interned.size() >= MAX_INTERNED) {
+            return value; // Unexpectedly many distinct values; stop growing the table
+        }
+        existing = interned.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    // A malformed body is a parse error (a JsonProcessingException), not an I/O failure
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new JsonParseException(parser, "Unexpected trivia response: expected " + expected + " but got " + actual);
+        }
+    }
+
+    /**
+     * @param responseCode     the provider response code (0 = success).
+     * @param questions        the decoded questions, without duplicates.
+     * @param duplicatesDropped how many results were dropped as duplicates.
+     */
+    public record ParsedQuestions(int responseCode, List<Question> questions, int duplicatesDropped) {
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.quiz_tournament_api.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AttemptSessionStoreTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    @Test
+    void mergesAnswersIntoTheSession() {
+        AttemptSessionStore store = new AttemptSessionStore(1024, HOUR);
+        long quizEnd = System.currentTimeMillis() + HOUR;
+
+        store.update(1, 10, 5, quizEnd, 0b001, 0b001);
+        store.update(1, 10, 5, quizEnd, 0b100, 0b000);
+        AttemptSessionStore.Session session = store.update(1, 10, 5, quizEnd, 0b010, 0b010);
+
+        assertEquals(0b111, session.answeredBits());
+        assertEquals(0b011, session.correctBits());
+        assertEquals(3, session.currentIndex());
+        assertEquals(3, session.answeredCount());
+        assertEquals(2, session.correctCount());
+        assertTrue(session.isCorrect(1));
+        assertFalse(session.isCorrect(2));
+        assertEquals(session, store.get(1, 10));
+        assertNull(store.get(1, 11));
+        assertNull(store.get(2, 10));
+    }
+
+    @Test
+    void currentIndexStopsAtTheLastQuestion() {
+        AttemptSessionStore store = new AttemptSessionStore(1024, HOUR);
+
+        AttemptSessionStore.Session session = store.update(1, 10, 3, System.currentTimeMillis() + HOUR, 0b111, 0);
+
+        assertEquals(3, session.currentIndex());
+    }
+
+    @Test
+    void doesNotTrackAttemptsWithTooManyQuestions() {
+        AttemptSessionStore store = new AttemptSessionStore(1024, HOUR);
+
+        assertNull(store.update(1, 10, AttemptSessionStore.MAX_QUESTIONS + 1, System.currentTimeMillis() + HOUR, 1, 1));
+        assertNull(store.get(1, 10));
+    }
+
+    @Test
+    void finishRemovesTheSession() {
+        AttemptSessionStore store = new AttemptSessionStore(1024, HOUR);
+        store.update(1, 10, 5, System.currentTimeMillis() + HOUR, 1, 1);
+
+        store.finish(1, 10);
+        store.finish(1, 10); // Already gone
+
+        assertNull(store.get(1, 10));
+        assertEquals(1L, store.getMetrics().get("finished"));
+        assertEquals(0, store.getMetrics().get("liveSessions"));
+    }
+
+    @Test
+    void expiredSessionsAreNotReturned() {
+        AttemptSessionStore store = new AttemptSessionStore(1024, HOUR);
+        store.update(1, 10, 5, System.currentTimeMillis() - 1, 1, 1); // The quiz has ended
+
+        assertNull(store.get(1, 10));
+        assertEquals(1L, store.getMetrics().get("expired"));
+    }
+
+    // Four sessions per segment in an eight-bucket table: probe chains collide and wrap around the table end, and
+    // every removal exercises the backward shift
+    @Test
+    void matchesAMapUnderRandomInsertsAndRemovals() {
+        AttemptSessionStore store = new AttemptSessionStore(64, HOUR);
+        long quizEnd = System.currentTimeMillis() + HOUR;
+        Map<Long, Long> expected = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(42);
+
+        for (int operation = 0; operation < 20_000; operation++) {
+            long userId = 1 + random.nextInt(20);
+            long quizId = 1 + random.nextInt(5);
+            long key = userId * 100 + quizId;
+            if (random.nextInt(3) == 0) {
+                store.finish(userId, quizId);
+                expected.remove(key);
+            } else {
+                long bit = 1L << random.nextInt(10);
+                AttemptSessionStore.Session session = store.update(userId, quizId, 10, quizEnd, bit, 0);
+                if (session != null) {
+                    expected.merge(key, bit, (a, b) -> a | b);
+                    assertEquals((long) expected.get(key), session.answeredBits());
+                } else {
+                    assertFalse(expected.containsKey(key), "An existing session must always be updated");
+                }
+            }
+
+            for (long u = 1; u <= 20; u++) {
+                for (long q = 1; q <= 5; q++) {
+                    AttemptSessionStore.Session session = store.get(u, q);
+                    Long bits = expected.get(u * 100 + q);
+                    if (bits == null) {
+                        assertNull(session, "Unexpected session " + u + "/" + q + " after operation " + operation);
+                    } else {
+                        assertNotNull(session, "Lost session " + u + "/" + q + " after operation " + operation);
+                        assertEquals((long) bits, session.answeredBits());
+                    }
+                }
+            }
+        }
+        assertEquals(expected.size(), store.getMetrics().get("liveSessions"));
+    }
+
+    @Test
+    void rejectsNewSessionsWhileTheSegmentIsFullOfLiveOnes() {
+        AttemptSessionStore store = new AttemptSessionStore(16, HOUR); // One session per segment
+        long quizEnd = System.currentTimeMillis() + HOUR;
+
+        int tracked = 0;
+        for (long userId = 1; userId <= 200; userId++) {
+            if (store.update(userId, 1, 5, quizEnd, 1, 1) != null) {
+                tracked++;
+            }
+        }
+
+        assertTrue(tracked <= 16);
+        assertEquals(200L - tracked, store.getMetrics().get("rejectedWhileFull"));
+        assertEquals(tracked, store.getMetrics().get("liveSessions"));
+    }
+
+    @Test
+    void fullSegmentEvictsExpiredSessionsToMakeRoom() {
+        AttemptSessionStore store = new AttemptSessionStore(16, HOUR); // One session per segment
+        long ended = System.currentTimeMillis() - 1;
+
+        // Every segment fills up with sessions that are already past their deadline
+        for (long userId = 1; userId <= 200; userId++) {
+            assertNotNull(store.update(userId, 1, 5, ended, 1, 1));
+        }
+
+        assertEquals(0L, store.getMetrics().get("rejectedWhileFull"));
+        assertTrue((Long) store.getMetrics().get("expired") > 0);
+
+        long quizEnd = System.currentTimeMillis() + HOUR;
+        for (long userId = 1; userId <= 200; userId++) {
+            AttemptSessionStore.Session session = store.update(userId, 2, 5, quizEnd, 1, 1);
+            if (session != null) {
+                assertEquals(session, store.get(userId, 2));
+            }
+        }
+        store.evictExpired();
+        assertTrue((Integer) store.getMetrics().get("liveSessions") <= 16);
+    }
+}
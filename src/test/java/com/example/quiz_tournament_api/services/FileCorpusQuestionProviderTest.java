@@ -0,0 +1,85 @@
+package com.example.quiz_tournament_api.services;
+
+import com.example.quiz_tournament_api.models.Question;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FileCorpusQuestionProviderTest {
+
+    private FileCorpusQuestionProvider provider;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        provider = newProvider();
+    }
+
+    @Test
+    void picksDistinctQuestionsOfTheRequestedBucket() {
+        List<Question> questions = provider.fetchQuestions(1L, 9, "easy", 4).join();
+
+        assertEquals(4, questions.size());
+        assertEquals(4, new HashSet<>(texts(questions)).size());
+        for (Question question : questions) {
+            assertEquals("General Knowledge", question.getCategory());
+            assertEquals("easy", question.getDifficulty());
+        }
+    }
+
+    @Test
+    void sameQuizGetsTheSameQuestions() throws Exception {
+        List<String> first = texts(provider.fetchQuestions(42L, 9, "easy", 3).join());
+
+        assertEquals(first, texts(provider.fetchQuestions(42L, 9, "easy", 3).join()));
+        assertEquals(first, texts(newProvider().fetchQuestions(42L, 9, "easy", 3).join()));
+    }
+
+    @Test
+    void returnsTheWholeBucketWhenItIsSmallerThanTheAmount() {
+        List<Question> questions = provider.fetchQuestions(1L, 9, "MEDIUM", 10).join();
+
+        assertEquals(2, questions.size());
+        assertEquals(new HashSet<>(List.of("In which year did the Berlin Wall fall?",
+                "Which element has the chemical symbol Fe?")), new HashSet<>(texts(questions)));
+    }
+
+    @Test
+    void failsForAnEmptyBucket() {
+        assertThrows(CompletionException.class, () -> provider.fetchQuestions(1L, 17, "hard", 5).join());
+    }
+
+    @Test
+    void listsTheCorpusCategories() {
+        List<Map<String, Object>> categories = provider.fetchCategories().join();
+
+        assertEquals(2, categories.size());
+        assertEquals(9, categories.get(0).get("id"));
+        assertEquals("General Knowledge", categories.get(0).get("name"));
+        assertEquals(17, categories.get(1).get("id"));
+        assertEquals("Science & Nature", categories.get(1).get("name"));
+    }
+
+    private static FileCorpusQuestionProvider newProvider() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        FileCorpusQuestionProvider provider =
+                new FileCorpusQuestionProvider(objectMapper, new TriviaIngestService(objectMapper));
+        Path corpus = Path.of(FileCorpusQuestionProviderTest.class.getResource("/question-corpus.jsonl").toURI());
+        ReflectionTestUtils.setField(provider, "corpusPath", corpus.toString());
+        provider.loadCorpus();
+        return provider;
+    }
+
+    private static List<String> texts(List<Question> questions) {
+        return questions.stream().map(Question::getText).toList();
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.quiz_tournament_api.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserIdBitmapTest {
+
+    private static final int ARRAY_MAX = 4096;
+
+    @Test
+    void addAndRemoveReportWhetherTheSetChanged() {
+        UserIdBitmap bitmap = new UserIdBitmap();
+
+        assertTrue(bitmap.add(7));
+        assertFalse(bitmap.add(7));
+        assertTrue(bitmap.contains(7));
+        assertFalse(bitmap.contains(8));
+        assertTrue(bitmap.remove(7));
+        assertFalse(bitmap.remove(7));
+        assertFalse(bitmap.contains(7));
+        assertEquals(0, bitmap.cardinality());
+    }
+
+    @Test
+    void keepsIdsOfDifferentChunksApart() {
+        UserIdBitmap bitmap = new UserIdBitmap();
+        long[] ids = {0, 65_535, 65_536, 131_071, 1L << 31, UserIdBitmap.MAX_ID};
+        for (long id : ids) {
+            assertTrue(bitmap.add(id));
+        }
+
+        for (long id : ids) {
+            assertTrue(bitmap.contains(id));
+        }
+        assertFalse(bitmap.contains(1));
+        assertFalse(bitmap.contains(65_537));
+        assertEquals(ids.length, bitmap.cardinality());
+
+        assertTrue(bitmap.remove(65_536));
+        assertTrue(bitmap.contains(65_535));
+        assertTrue(bitmap.contains(131_071));
+        assertEquals(ids.length - 1, bitmap.cardinality());
+    }
+
+    @Test
+    void rejectsIdsOutsideTheRange() {
+        UserIdBitmap bitmap = new UserIdBitmap();
+
+        assertThrows(IllegalArgumentException.class, () -> bitmap.add(-1));
+        assertThrows(IllegalArgumentException.class, () -> bitmap.add(UserIdBitmap.MAX_ID + 1));
+        assertFalse(bitmap.contains(-1));
+        assertFalse(bitmap.remove(UserIdBitmap.MAX_ID + 1));
+        assertFalse(UserIdBitmap.isIndexable(-1));
+        assertTrue(UserIdBitmap.isIndexable(UserIdBitmap.MAX_ID));
+    }
+
+    @Test
+    void convertsBetweenArrayAndBitmapAtTheThreshold() {
+        UserIdBitmap bitmap = new UserIdBitmap();
+        for (long id = 0; id < ARRAY_MAX; id++) {
+            bitmap.add(id * 3); // Spread over the chunk
+        }
+        long arrayBytes = bitmap.sizeInBytes();
+        assertEquals(ARRAY_MAX, bitmap.cardinality());
+
+        assertTrue(bitmap.add(1)); // The 4097th id turns the chunk into a bitmap
+        assertFalse(bitmap.add(1));
+        assertEquals(ARRAY_MAX + 1, bitmap.cardinality());
+        assertTrue(bitmap.sizeInBytes() >= 8 * 1024);
+        assertTrue(bitmap.contains(1));
+        for (long id = 0; id < ARRAY_MAX; id++) {
+            assertTrue(bitmap.contains(id * 3));
+            assertFalse(bitmap.contains(id * 3 + 2));
+        }
+
+        assertTrue(bitmap.remove(1)); // Back to 4096 ids: an array again
+        assertFalse(bitmap.remove(1));
+        assertEquals(ARRAY_MAX, bitmap.cardinality());
+        assertEquals(arrayBytes, bitmap.sizeInBytes());
+        assertFalse(bitmap.contains(1));
+        for (long id = 0; id < ARRAY_MAX; id++) {
+            assertTrue(bitmap.contains(id * 3));
+        }
+
+        for (long id = 0; id < ARRAY_MAX; id++) {
+            assertTrue(bitmap.remove(id * 3));
+        }
+        assertEquals(0, bitmap.cardinality());
+        assertTrue(bitmap.sizeInBytes() < 1024);
+    }
+
+    @Test
+    void matchesASetWhileCrossingTheThresholdBothWays() {
+        UserIdBitmap bitmap = new UserIdBitmap();
+        Set<Long> expected = new HashSet<>();
+        SplittableRandom random = new SplittableRandom(11);
+
+        // Two chunks of 5000 candidate ids; phases of mostly adds and mostly removes move each chunk's size
+        // back and forth across 4096
+        for (int phase = 0; phase < 6; phase++) {
+            boolean adding = phase % 2 == 0;
+            for (int operation = 0; operation < 30_000; operation++) {
+                long id = (random.nextInt(2) * 65_536L) + random.nextInt(5_000);
+                if (adding == (random.nextInt(10) != 0)) {
+                    assertEquals(expected.add(id), bitmap.add(id));
+                } else {
+                    assertEquals(expected.remove(id), bitmap.remove(id));
+                }
+            }
+            assertEquals(expected.size(), bitmap.cardinality());
+            for (long chunk = 0; chunk < 2; chunk++) {
+                int inChunk = 0;
+                for (long low = 0; low < 5_000; low++) {
+                    long id = chunk * 65_536 + low;
+                    assertEquals(expected.contains(id), bitmap.contains(id));
+                    inChunk += expected.contains(id) ? 1 : 0;
+                }
+                assertTrue(adding ? inChunk > ARRAY_MAX : inChunk < ARRAY_MAX, "Chunk size " + inChunk);
+            }
+        }
+    }
+}